@@ -5,14 +5,15 @@ import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Wrapper of an Adventure {@link Component}.
@@ -20,30 +21,21 @@ import java.util.regex.Pattern;
  */
 @SuppressWarnings("unused")
 public abstract class CompHolder extends TextHolder {
-    private static final boolean nativeAdventureSupport = getCurrentVersion() == 1165 && isPaper();
+    private static final boolean nativeAdventureSupport = hasNativeAdventureMethods();
 
-    private static int getCurrentVersion() {
-        Matcher matcher = Pattern
-                .compile("(\\d+\\.\\d+)(\\.\\d+)?")
-                .matcher(Bukkit.getBukkitVersion());
-
-        if (matcher.find()) {
-            String version = matcher.group(1).replace(".", "");
-            String patch = matcher.group(2);
-            patch = patch == null ? "0" : patch.replace(".", "");
-            return Integer.parseInt(version + patch);
-        }
-
-        throw new RuntimeException(
-                "Could not retrieve server version! \nFix: Install the server properly or add a WORKING version/jar."
-        );
-    }
-
-    private static boolean isPaper() {
-        try { // PaperConfig
-            Class.forName("com.destroystokyo.paper.PaperConfig");
+    /**
+     * Checks if the server has the component based item and inventory methods, instead of matching a version,
+     * so every build that has them uses them directly.
+     * A relocated Adventure never matches the server's methods, so it falls back to legacy strings.
+     */
+    private static boolean hasNativeAdventureMethods() {
+        try {
+            ItemMeta.class.getMethod("lore", List.class);
+            ItemMeta.class.getMethod("displayName", Component.class);
+            Bukkit.class.getMethod("createInventory", InventoryHolder.class, int.class, Component.class);
+            Bukkit.class.getMethod("createInventory", InventoryHolder.class, InventoryType.class, Component.class);
             return true;
-        } catch (ClassNotFoundException e) {
+        } catch (NoSuchMethodException | LinkageError e) {
             return false;
         }
     }
@@ -53,6 +45,13 @@ public abstract class CompHolder extends TextHolder {
                 .useUnusualXRepeatedCharacterHexFormat()
                 .hexColors()
                 .build();
+
+    /**
+     * Bounded LRU cache of legacy strings for components that repeat across items and titles.
+     */
+    private static final int LEGACY_CACHE_SIZE = 1024;
+
+    private static final LruCache<Component, String> legacyCache = new LruCache<>(LEGACY_CACHE_SIZE);
     
     /**
      * Wraps the specified Adventure component.
@@ -95,6 +94,11 @@ public abstract class CompHolder extends TextHolder {
      */
     @NotNull
     protected final Component value;
+
+    /**
+     * The legacy form of {@link #value}, computed on first use; the component is immutable so it never changes.
+     */
+    private String legacy;
     
     /**
      * Creates and initializes a new instance.
@@ -122,7 +126,24 @@ public abstract class CompHolder extends TextHolder {
     @Override
     @Contract(pure = true)
     public String toString() {
-        return legacySerializer.serialize(value);
+        String legacy = this.legacy;
+        if (legacy == null) this.legacy = legacy = serializeLegacy(value);
+        return legacy;
+    }
+
+    /**
+     * Serialize the component into a legacy string, reusing the result for components seen recently.
+     *
+     * @param component the component
+     * @return the legacy string
+     */
+    @NotNull
+    static String serializeLegacy(@NotNull Component component) {
+        String legacy = legacyCache.get(component);
+        if (legacy != null) return legacy;
+        legacy = legacySerializer.serialize(component);
+        legacyCache.put(component, legacy);
+        return legacy;
     }
     
     @Override
@@ -25,12 +25,13 @@ public class Lore implements Iterable<TextHolder> {
 
     public Lore(ItemMeta meta) {
         this.meta = meta;
-        this.lore = (CompHolder.isNativeAdventureSupport()) ? lore(meta) : getLore(meta);
+        // with native Adventure the lore is read as components, the legacy strings are only read where there are no components
+        this.lore = CompHolder.isNativeAdventureSupport() ? lore(meta) : getLore(meta);
     }
     @Contract(pure = true)
     public Lore(@NotNull Lore lore) {
         this.meta = lore.meta;
-        this.lore = lore.lore;
+        this.lore = lore.lore.clone();
     }
 
     private static @NotNull TextHolder[] lore(ItemMeta meta) {
@@ -48,13 +49,14 @@ public class Lore implements Iterable<TextHolder> {
 
     private static @NotNull TextHolder[] getLore(ItemMeta meta) {
         if (meta == null || !meta.hasLore()) return EMPTY_LORE;
-        List<String> components = meta.getLore();
-        Validate.notNull(components);
+        List<String> lines = meta.getLore();
+        Validate.notNull(lines);
 
-        int size = components.size();
+        int size = lines.size();
         List<TextHolder> lore = new ArrayList<>(size);
-        for (int componentIndex = 0; componentIndex < size; componentIndex++) {
-            lore.add(CompHolder.of(components.get(componentIndex)));
+        for (int lineIndex = 0; lineIndex < size; lineIndex++) {
+            // already translated, so a literal '&' in the lore stays as it is
+            lore.add(StringHolder.legacy(lines.get(lineIndex)));
         }
         return lore.toArray(TextHolder[]::new);
     }
@@ -84,10 +86,18 @@ public class Lore implements Iterable<TextHolder> {
     }
 
     public void toItemLore(ItemStack itemStack, boolean setMeta) {
-        for (TextHolder textHolder : lore) textHolder.asItemLoreAtEnd(meta);
+        TextHolder.asItemLore(meta, lore);
         if (setMeta) itemStack.setItemMeta(meta);
     }
 
+    /**
+     * Set the lore of the meta to this lore in a single meta write.
+     * @param meta the meta
+     */
+    public void toItemLore(@NotNull ItemMeta meta) {
+        TextHolder.asItemLore(meta, lore);
+    }
+
     public void copyFrom(TextHolder[] newLore) {
         this.lore = newLore;
     }
@@ -0,0 +1,360 @@
+package me.flame.menus.adventure;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TextReplacementConfig;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+import static org.bukkit.ChatColor.translateAlternateColorCodes;
+
+/**
+ * A lore compiled once into segments of literal text and placeholder slots.
+ * <p>
+ * Every placeholder of every line is found in a single pass with an Aho-Corasick automaton over the key set,
+ * so rendering never scans the lore again; it only joins the segments of the lines whose values changed.
+ * Works with both {@link StringHolder} and {@link CompHolder} lines;
+ * the placeholders of component lines are replaced inside the component tree,
+ * so hover and click events, fonts and translatable parts of the line are kept.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ *     LoreTemplate template = LoreTemplate.compile(new Lore(meta), "%kills%", "%deaths%");
+ *     LoreTemplate.Rendering lore = template.render();
+ *     lore.set("%kills%", "10");
+ *     lore.set("%deaths%", "2");
+ *     TextHolder[] lines = lore.lines();
+ * }</pre>
+ * @since 3.0.0
+ */
+@SuppressWarnings("unused")
+public final class LoreTemplate {
+    private static final char LEGACY_CHAR = '\u00A7';
+
+    private final String[] keys;
+    private final TextHolder[] originals;
+    private final String[][] literals;
+    private final int[][] slots;
+    private final int[][] linesByKey;
+    private final Pattern[] patterns;
+
+    private LoreTemplate(String[] keys, TextHolder[] originals, String[][] literals, int[][] slots) {
+        this.keys = keys;
+        this.originals = originals;
+        this.literals = literals;
+        this.slots = slots;
+
+        // component lines are matched against their own keys, longest first so a key never cuts a longer one short
+        this.patterns = new Pattern[originals.length];
+        for (int line = 0; line < originals.length; line++) {
+            if (!(originals[line] instanceof CompHolder) || slots[line].length == 0) continue;
+            patterns[line] = Pattern.compile(Arrays.stream(distinct(slots[line]))
+                    .mapToObj(key -> keys[key])
+                    .sorted(Comparator.comparingInt(String::length).reversed())
+                    .map(Pattern::quote)
+                    .reduce((first, second) -> first + '|' + second)
+                    .orElseThrow(IllegalStateException::new));
+        }
+
+        int[] counts = new int[keys.length];
+        for (int[] lineSlots : slots) for (int key : distinct(lineSlots)) counts[key]++;
+        this.linesByKey = new int[keys.length][];
+        for (int key = 0; key < keys.length; key++) linesByKey[key] = new int[counts[key]];
+
+        Arrays.fill(counts, 0);
+        for (int line = 0; line < slots.length; line++) {
+            for (int key : distinct(slots[line])) linesByKey[key][counts[key]++] = line;
+        }
+    }
+
+    /**
+     * Compile the lines into a template with the provided placeholder keys.
+     * @param lines the lines of the lore
+     * @param keys the placeholder keys, for example {@code "%kills%"}
+     * @return the compiled template
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static LoreTemplate compile(@NotNull TextHolder[] lines, @NotNull String... keys) {
+        Automaton automaton = new Automaton(keys);
+
+        int size = lines.length;
+        String[][] literals = new String[size][];
+        int[][] slots = new int[size][];
+        List<String> lineLiterals = new ArrayList<>();
+        for (int line = 0; line < size; line++) {
+            String text = lines[line].toString();
+            int[] matches = automaton.matches(text);
+
+            lineLiterals.clear();
+            int count = matches.length / 2, start = 0;
+            int[] lineSlots = new int[count];
+            for (int match = 0; match < count; match++) {
+                int matchStart = matches[match * 2], key = matches[match * 2 + 1];
+                lineLiterals.add(text.substring(start, matchStart));
+                lineSlots[match] = key;
+                start = matchStart + keys[key].length();
+            }
+            lineLiterals.add(text.substring(start));
+
+            literals[line] = lineLiterals.toArray(new String[0]);
+            slots[line] = lineSlots;
+        }
+        return new LoreTemplate(keys.clone(), lines.clone(), literals, slots);
+    }
+
+    /**
+     * Compile the lore into a template with the provided placeholder keys.
+     * @param lore the lore
+     * @param keys the placeholder keys, for example {@code "%kills%"}
+     * @return the compiled template
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static LoreTemplate compile(@NotNull Lore lore, @NotNull String... keys) {
+        int size = lore.size();
+        TextHolder[] lines = new TextHolder[size];
+        for (int line = 0; line < size; line++) lines[line] = lore.get(line);
+        return compile(lines, keys);
+    }
+
+    /**
+     * Get the index of the placeholder key.
+     * @param key the key
+     * @return the index, or -1 if the template has no such key
+     */
+    public int indexOf(@NotNull String key) {
+        for (int index = 0; index < keys.length; index++) if (keys[index].equals(key)) return index;
+        return -1;
+    }
+
+    /**
+     * Get how many lines the template has.
+     * @return the amount of lines
+     */
+    public int size() {
+        return originals.length;
+    }
+
+    /**
+     * Start a new rendering of this template, where every placeholder is still unresolved.
+     * @return the rendering
+     */
+    @NotNull
+    @Contract(" -> new")
+    public Rendering render() {
+        return new Rendering();
+    }
+
+    private static int[] distinct(int[] slots) {
+        if (slots.length < 2) return slots;
+        return Arrays.stream(slots).distinct().toArray();
+    }
+
+    /**
+     * The values of one rendering of a {@link LoreTemplate}, for example the lore of a single item.
+     * <p>
+     * Setting a value only marks the lines that use it, and only those lines are rebuilt by {@link #lines()}.
+     */
+    public final class Rendering {
+        private final String[] values;
+        private final TextHolder[] lines;
+        private final boolean[] dirtyLines;
+        private boolean dirty = false;
+
+        private Rendering() {
+            this.values = keys.clone();
+            this.lines = originals.clone();
+            this.dirtyLines = new boolean[originals.length];
+        }
+
+        /**
+         * Set the value of the placeholder.
+         * @param key the index of the placeholder key
+         * @param value the value
+         * @return true if the value changed
+         */
+        public boolean set(int key, @NotNull String value) {
+            if (value.equals(values[key])) return false;
+            values[key] = value;
+            int[] affected = linesByKey[key];
+            if (affected.length == 0) return false;
+            for (int line : affected) dirtyLines[line] = true;
+            dirty = true;
+            return true;
+        }
+
+        /**
+         * Set the value of the placeholder.
+         * @param key the placeholder key
+         * @param value the value
+         * @return true if the value changed
+         */
+        public boolean set(@NotNull String key, @NotNull String value) {
+            int index = indexOf(key);
+            return index != -1 && set(index, value);
+        }
+
+        /**
+         * Checks if any line needs to be rebuilt.
+         * @return true if a value changed since the last call to {@link #lines()}
+         */
+        public boolean isDirty() {
+            return dirty;
+        }
+
+        /**
+         * Get the rendered lines, rebuilding only the lines whose values changed.
+         * @return the rendered lines; the array is reused, so don't modify it
+         */
+        @NotNull
+        public TextHolder[] lines() {
+            if (!dirty) return lines;
+            for (int line = 0; line < lines.length; line++) {
+                if (!dirtyLines[line]) continue;
+                dirtyLines[line] = false;
+                lines[line] = build(line);
+            }
+            dirty = false;
+            return lines;
+        }
+
+        private @NotNull TextHolder build(int line) {
+            TextHolder original = originals[line];
+            if (original instanceof CompHolder) return CompHolder.of(replace(((CompHolder) original).component(), patterns[line]));
+
+            String[] lineLiterals = literals[line];
+            int[] lineSlots = slots[line];
+
+            StringBuilder builder = new StringBuilder(lineLiterals[0]);
+            for (int slot = 0; slot < lineSlots.length; slot++) {
+                builder.append(translateAlternateColorCodes('&', values[lineSlots[slot]])).append(lineLiterals[slot + 1]);
+            }
+
+            // the literals are translated already and dynamic lines mustn't push cached strings out of the intern cache
+            return StringHolder.legacy(builder.toString());
+        }
+
+        private @NotNull Component replace(@NotNull Component component, @Nullable Pattern pattern) {
+            if (pattern == null) return component;
+            return component.replaceText(TextReplacementConfig.builder()
+                    .match(pattern)
+                    .replacement(this::valueOf)
+                    .build());
+        }
+
+        private @NotNull ComponentLike valueOf(@NotNull MatchResult match, TextComponent.@NotNull Builder builder) {
+            String value = values[indexOf(match.group())];
+            // the value takes the style of the placeholder, legacy colors in the value still apply on top of it
+            if (value.indexOf('&') == -1 && value.indexOf(LEGACY_CHAR) == -1) return builder.content(value);
+            Component styled = CompHolder.legacySerializer().deserialize(translateAlternateColorCodes('&', value));
+            return styled.applyFallbackStyle(builder.build().style());
+        }
+    }
+
+    /**
+     * Aho-Corasick automaton over the placeholder keys, only used while compiling.
+     */
+    private static final class Automaton {
+        private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+        private final List<Integer> failures = new ArrayList<>();
+        private final List<Integer> outputs = new ArrayList<>();
+        private final String[] keys;
+
+        Automaton(String[] keys) {
+            this.keys = keys;
+            newNode();
+            for (int key = 0; key < keys.length; key++) {
+                String text = keys[key];
+                if (text.isEmpty()) continue;
+
+                int node = 0;
+                for (int index = 0; index < text.length(); index++) {
+                    Integer next = transitions.get(node).get(text.charAt(index));
+                    node = next == null ? link(node, text.charAt(index)) : next;
+                }
+                // keep the first key when two keys are equal
+                if (outputs.get(node) == -1) outputs.set(node, key);
+            }
+            buildFailures();
+        }
+
+        private int newNode() {
+            transitions.add(new HashMap<>(4));
+            failures.add(0);
+            outputs.add(-1);
+            return transitions.size() - 1;
+        }
+
+        private int link(int node, char character) {
+            int next = newNode();
+            transitions.get(node).put(character, next);
+            return next;
+        }
+
+        private void buildFailures() {
+            List<Integer> queue = new ArrayList<>(transitions.get(0).values());
+            for (int head = 0; head < queue.size(); head++) {
+                int node = queue.get(head);
+                for (Map.Entry<Character, Integer> entry : transitions.get(node).entrySet()) {
+                    int child = entry.getValue();
+                    queue.add(child);
+
+                    int failure = failures.get(node);
+                    while (failure != 0 && !transitions.get(failure).containsKey(entry.getKey())) failure = failures.get(failure);
+                    Integer target = transitions.get(failure).get(entry.getKey());
+                    failures.set(child, target == null || target == child ? 0 : target);
+                }
+            }
+        }
+
+        /**
+         * Find the leftmost-longest non-overlapping matches in the text.
+         * @return pairs of (start index, key index)
+         */
+        int[] matches(String text) {
+            int length = text.length();
+            int[] best = new int[length];
+            Arrays.fill(best, -1);
+
+            int node = 0;
+            for (int index = 0; index < length; index++) {
+                char character = text.charAt(index);
+                Integer next;
+                while ((next = transitions.get(node).get(character)) == null && node != 0) node = failures.get(node);
+                node = next == null ? 0 : next;
+
+                for (int output = node; output != 0; output = failures.get(output)) {
+                    int key = outputs.get(output);
+                    if (key == -1) continue;
+                    int start = index - keys[key].length() + 1;
+                    if (best[start] == -1 || keys[best[start]].length() < keys[key].length()) best[start] = key;
+                }
+            }
+
+            int[] matches = new int[8];
+            int count = 0;
+            for (int start = 0; start < length; start++) {
+                int key = best[start];
+                if (key == -1) continue;
+                if (count == matches.length) matches = Arrays.copyOf(matches, count << 1);
+                matches[count++] = start;
+                matches[count++] = key;
+                start += keys[key].length() - 1;
+            }
+            return Arrays.copyOf(matches, count);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package me.flame.menus.adventure;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread-safe cache that keeps the most recently used entries, up to a maximum size.
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 3.0.0
+ */
+final class LruCache<K, V> {
+    private final Map<K, V> entries;
+
+    LruCache(int maxSize) {
+        this.entries = new LinkedHashMap<K, V>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized @Nullable V get(@NotNull K key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(@NotNull K key, @NotNull V value) {
+        entries.put(key, value);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+}
@@ -31,10 +31,28 @@ public final class StringHolder extends TextHolder {
      * Cached instance which wraps an empty {@link String}.
      */
     @NotNull
-    private static final StringHolder EMPTY = StringHolder.of("");
+    private static final StringHolder EMPTY = new StringHolder("");
+
+    /**
+     * Bounded LRU cache of holders for strings that are used over and over, like titles and state values.
+     */
+    private static final int CACHE_SIZE = 2048;
+
+    private static final LruCache<String, StringHolder> cache = new LruCache<>(CACHE_SIZE);
+
+    /**
+     * Cached instances of the numbers 0-255, which are the most common state values.
+     */
+    private static final StringHolder[] NUMBERS = new StringHolder[256];
+
+    static {
+        for (int number = 0; number < NUMBERS.length; number++) NUMBERS[number] = new StringHolder(Integer.toString(number));
+    }
     
     /**
-     * Wraps the specified legacy string.
+     * Wraps the specified legacy string, translating {@code &} color codes.
+     * <p>
+     * Holders of recently used strings are reused instead of translating the string again.
      *
      * @param value the value to wrap
      * @return an instance that wraps the specified value
@@ -44,7 +62,42 @@ public final class StringHolder extends TextHolder {
     @Contract(pure = true)
     public static StringHolder of(@NotNull String value) {
         Objects.requireNonNull(value, "value mustn't be null");
-        return new StringHolder(value);
+        if (value.isEmpty()) return EMPTY;
+
+        StringHolder holder = cache.get(value);
+        if (holder != null) return holder;
+        holder = new StringHolder(translateAlternateColorCodes('&', value));
+        cache.put(value, holder);
+        return holder;
+    }
+
+    /**
+     * Wraps a legacy string that's already translated, like the lore or name read from an item,
+     * without translating {@code &} color codes again.
+     *
+     * @param value the value to wrap
+     * @return an instance that wraps the specified value
+     * @since 3.0.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    static StringHolder legacy(@NotNull String value) {
+        Objects.requireNonNull(value, "value mustn't be null");
+        return value.isEmpty() ? EMPTY : new StringHolder(value);
+    }
+
+    /**
+     * Wraps the specified number.
+     *
+     * @param value the value to wrap
+     * @return an instance that wraps the specified value
+     * @since 3.0.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static StringHolder of(long value) {
+        if (value >= 0 && value < NUMBERS.length) return NUMBERS[(int) value];
+        return new StringHolder(Long.toString(value));
     }
     
     /**
@@ -67,11 +120,11 @@ public final class StringHolder extends TextHolder {
     /**
      * Creates and initializes a new instance.
      *
-     * @param value the legacy string this instance should wrap
+     * @param value the already translated legacy string this instance should wrap
      * @since 0.10.0
      */
     private StringHolder(@NotNull String value) {
-        this.value = translateAlternateColorCodes('&', value);
+        this.value = value;
     }
     
     @NotNull
@@ -1,7 +1,6 @@
 package me.flame.menus.adventure;
 
 import net.kyori.adventure.text.Component;
-import org.bukkit.ChatColor;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
@@ -9,6 +8,8 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -65,9 +66,85 @@ public abstract class TextHolder {
     @NotNull
     @Contract(pure = true)
     public static TextHolder of(@NotNull String string) {
-        return StringHolder.of(ChatColor.translateAlternateColorCodes('&', string));
+        return StringHolder.of(string);
+    }
+
+    /**
+     * Gets an instance that's replaced by the translation of the key for every viewer's locale.
+     *
+     * @param key the translation key
+     * @return an instance containing the translation token of the key
+     * @see Translations
+     * @since 3.0.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static TextHolder translatable(@NotNull String key) {
+        return StringHolder.of(Translations.token(key));
+    }
+
+    /**
+     * Wraps the specified number as a {@link TextHolder}; small numbers are cached.
+     *
+     * @param number the number
+     * @return an instance containing the number
+     * @since 3.0.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static TextHolder of(long number) {
+        return StringHolder.of(number);
     }
     
+    /**
+     * Modifies the specified meta: sets the lore to the lines in a single meta write.
+     * <p>
+     * Lines are written as components when the platform natively supports Adventure and any line is a
+     * {@link CompHolder}, otherwise they're written as legacy strings.
+     *
+     * @param meta the meta whose lore to set
+     * @param lines the lines of the lore
+     * @since 3.0.0
+     */
+    public static void asItemLore(@NotNull ItemMeta meta, @NotNull TextHolder... lines) {
+        asItemLore(meta, Arrays.asList(lines));
+    }
+
+    /**
+     * Modifies the specified meta: sets the lore to the lines in a single meta write.
+     * <p>
+     * Lines are written as components when the platform natively supports Adventure and any line is a
+     * {@link CompHolder}, otherwise they're written as legacy strings.
+     *
+     * @param meta the meta whose lore to set
+     * @param lines the lines of the lore
+     * @since 3.0.0
+     */
+    @SuppressWarnings("deprecation")
+    public static void asItemLore(@NotNull ItemMeta meta, @NotNull List<? extends TextHolder> lines) {
+        int size = lines.size();
+        if (CompHolder.isNativeAdventureSupport() && hasComponents(lines)) {
+            List<Component> lore = new ArrayList<>(size);
+            for (int line = 0; line < size; line++) {
+                TextHolder text = lines.get(line);
+                lore.add(text instanceof CompHolder
+                        ? ((CompHolder) text).component()
+                        : CompHolder.legacySerializer().deserialize(text.toString()));
+            }
+            meta.lore(lore);
+            return;
+        }
+
+        List<String> lore = new ArrayList<>(size);
+        for (int line = 0; line < size; line++) lore.add(lines.get(line).toString());
+        meta.setLore(lore);
+    }
+
+    private static boolean hasComponents(@NotNull List<? extends TextHolder> lines) {
+        for (int line = 0, size = lines.size(); line < size; line++) if (lines.get(line) instanceof CompHolder) return true;
+        return false;
+    }
+
     TextHolder() {}
     
     /**
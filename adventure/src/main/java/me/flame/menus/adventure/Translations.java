@@ -0,0 +1,270 @@
+package me.flame.menus.adventure;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TextReplacementConfig;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static org.bukkit.ChatColor.COLOR_CHAR;
+import static org.bukkit.ChatColor.translateAlternateColorCodes;
+
+/**
+ * Translatable text resolved per viewer locale when a menu is rendered.
+ * <p>
+ * A translation key is embedded in any title, name or lore line as a token ({@link #token(String)}),
+ * so one menu definition serves every language; the tokens are replaced when the menu is opened for a viewer.
+ * Rendered (text, locale) pairs are cached, so the translation of a line is only built once per locale.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ *     Translations.register(Locale.US, Map.of("shop.buy", "&aBuy"));
+ *     Translations.register(Locale.GERMANY, Map.of("shop.buy", "&aKaufen"));
+ *
+ *     ItemBuilder.of(Material.EMERALD).setName(Translations.token("shop.buy"));
+ *     Menu menu = Menu.builder().title(TextHolder.translatable("shop.title")).normal();
+ * }</pre>
+ * @since 3.0.0
+ */
+@SuppressWarnings("unused")
+public final class Translations {
+    private static final String TOKEN_PREFIX = "%lang:";
+    private static final char TOKEN_SUFFIX = '%';
+    private static final Pattern TOKEN = Pattern.compile(Pattern.quote(TOKEN_PREFIX) + "([^%]+)" + TOKEN_SUFFIX);
+
+    private static final int CACHE_SIZE = 4096;
+
+    private static final LruCache<Key, String> cache = new LruCache<>(CACHE_SIZE);
+
+    private static final Map<Locale, Map<String, String>> bundles = new ConcurrentHashMap<>();
+    private static final Map<String, Locale> locales = new ConcurrentHashMap<>();
+
+    private static volatile Locale defaultLocale = Locale.US;
+    private static volatile Translator translator = Translations::fromBundles;
+
+    private Translations() {}
+
+    /**
+     * Looks up the translation of a key.
+     */
+    @FunctionalInterface
+    public interface Translator {
+        /**
+         * Translate the key.
+         * @param key the translation key
+         * @param locale the locale of the viewer
+         * @return the translation, or null if there's none
+         */
+        @Nullable String translate(@NotNull String key, @NotNull Locale locale);
+    }
+
+    /**
+     * Get the token that's replaced by the translation of the key.
+     * @param key the translation key
+     * @return the token, for example {@code %lang:shop.buy%}
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static String token(@NotNull String key) {
+        Objects.requireNonNull(key, "key mustn't be null");
+        return TOKEN_PREFIX + key + TOKEN_SUFFIX;
+    }
+
+    /**
+     * Checks if the text contains translation tokens.
+     * @param text the text
+     * @return true if the text has to be rendered per locale
+     */
+    public static boolean isTranslatable(@NotNull String text) {
+        return text.contains(TOKEN_PREFIX);
+    }
+
+    /**
+     * Register the translations of a locale, used unless a custom {@link Translator} is set.
+     * @param locale the locale
+     * @param translations the translations by key; values may use {@code &} color codes
+     */
+    public static void register(@NotNull Locale locale, @NotNull Map<String, String> translations) {
+        bundles.computeIfAbsent(locale, l -> new ConcurrentHashMap<>()).putAll(translations);
+        cache.clear();
+    }
+
+    /**
+     * Replace how translation keys are looked up, for example to use a plugin's own message files.
+     * @param translator the translator
+     */
+    public static void setTranslator(@NotNull Translator translator) {
+        Translations.translator = Objects.requireNonNull(translator, "translator mustn't be null");
+        cache.clear();
+    }
+
+    /**
+     * Set the locale used when a viewer's locale has no translation, and for non-player viewers.
+     * @param locale the default locale
+     */
+    public static void setDefaultLocale(@NotNull Locale locale) {
+        defaultLocale = Objects.requireNonNull(locale, "locale mustn't be null");
+        cache.clear();
+    }
+
+    @NotNull
+    public static Locale getDefaultLocale() { return defaultLocale; }
+
+    /**
+     * Get the locale of the player's client.
+     * @param player the player
+     * @return the locale
+     */
+    @NotNull
+    public static Locale localeOf(@NotNull Player player) {
+        return localeOf(player.getLocale());
+    }
+
+    /**
+     * Parse a client locale such as {@code en_us}, reusing the instance for locales seen before.
+     * @param tag the locale
+     * @return the locale
+     */
+    @NotNull
+    public static Locale localeOf(@NotNull String tag) {
+        Locale locale = locales.get(tag);
+        if (locale != null) return locale;
+        String[] parts = tag.split("[_-]", 2);
+        locale = parts.length == 2 ? new Locale(parts[0], parts[1].toUpperCase(Locale.ROOT)) : new Locale(parts[0]);
+        locales.put(tag, locale);
+        return locale;
+    }
+
+    /**
+     * Replace every translation token of the text for the locale.
+     * @param text the text
+     * @param locale the locale
+     * @return the translated text, or the same text if it has no tokens
+     */
+    @NotNull
+    public static String render(@NotNull String text, @NotNull Locale locale) {
+        if (!isTranslatable(text)) return text;
+        Key key = new Key(text, locale);
+        String rendered = cache.get(key);
+        if (rendered != null) return rendered;
+        rendered = replaceTokens(text, locale);
+        cache.put(key, rendered);
+        return rendered;
+    }
+
+    /**
+     * Replace every translation token of the text for the locale.
+     * <p>
+     * Tokens of a {@link CompHolder} are replaced inside the component tree, so the rest of the component is kept as it is.
+     * @param text the text
+     * @param locale the locale
+     * @return the translated text, or the same instance if it has no tokens
+     */
+    @NotNull
+    public static TextHolder render(@NotNull TextHolder text, @NotNull Locale locale) {
+        String legacy = text.toString();
+        if (!isTranslatable(legacy)) return text;
+        if (text instanceof CompHolder) return CompHolder.of(render(((CompHolder) text).component(), locale));
+        return StringHolder.legacy(render(legacy, locale));
+    }
+
+    /**
+     * Replace every translation token of the component for the locale, inside the component tree.
+     * <p>
+     * A translation takes the style of its token, legacy colors in the translation still apply on top of it.
+     * @param component the component
+     * @param locale the locale
+     * @return the translated component
+     */
+    @NotNull
+    public static Component render(@NotNull Component component, @NotNull Locale locale) {
+        return component.replaceText(TextReplacementConfig.builder()
+                .match(TOKEN)
+                .replacement((match, builder) -> translation(match.group(1), locale, builder))
+                .build());
+    }
+
+    /**
+     * Translate the display name of the item meta for the locale, as a component where the server supports it.
+     * @param meta the item meta
+     * @param locale the locale
+     */
+    public static void renderDisplayName(@NotNull ItemMeta meta, @NotNull Locale locale) {
+        if (!meta.hasDisplayName()) return;
+        if (CompHolder.isNativeAdventureSupport()) {
+            Component name = meta.displayName();
+            if (name != null) meta.displayName(render(name, locale));
+            return;
+        }
+        meta.setDisplayName(render(meta.getDisplayName(), locale));
+    }
+
+    private static @NotNull ComponentLike translation(@NotNull String key, @NotNull Locale locale, TextComponent.@NotNull Builder builder) {
+        String translation = translate(key, locale);
+        if (translation.indexOf(COLOR_CHAR) == -1) return builder.content(translation);
+        return CompHolder.legacySerializer().deserialize(translation).applyFallbackStyle(builder.build().style());
+    }
+
+    private static @NotNull String replaceTokens(@NotNull String text, @NotNull Locale locale) {
+        StringBuilder builder = new StringBuilder(text.length());
+        int start = 0, token;
+        while ((token = text.indexOf(TOKEN_PREFIX, start)) != -1) {
+            int keyStart = token + TOKEN_PREFIX.length(), end = text.indexOf(TOKEN_SUFFIX, keyStart);
+            if (end == -1) break;
+            String key = text.substring(keyStart, end);
+            builder.append(text, start, token).append(translate(key, locale));
+            start = end + 1;
+        }
+        return builder.append(text, start, text.length()).toString();
+    }
+
+    private static @NotNull String translate(@NotNull String key, @NotNull Locale locale) {
+        Translator translator = Translations.translator;
+        String translation = translator.translate(key, locale);
+        if (translation == null && !locale.getCountry().isEmpty()) translation = translator.translate(key, new Locale(locale.getLanguage()));
+        if (translation == null && !locale.equals(defaultLocale)) translation = translator.translate(key, defaultLocale);
+        return translation == null ? key : translateAlternateColorCodes('&', translation);
+    }
+
+    private static @Nullable String fromBundles(@NotNull String key, @NotNull Locale locale) {
+        Map<String, String> bundle = bundles.get(locale);
+        return bundle == null ? null : bundle.get(key);
+    }
+
+    private static final class Key {
+        private final String text;
+        private final Locale locale;
+        private final int hash;
+
+        Key(String text, Locale locale) {
+            this.text = text;
+            this.locale = locale;
+            this.hash = 31 * text.hashCode() + locale.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Key)) return false;
+            Key key = (Key) other;
+            return text.equals(key.text) && locale.equals(key.locale);
+        }
+    }
+}
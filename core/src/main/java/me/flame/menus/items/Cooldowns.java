@@ -0,0 +1,230 @@
+package me.flame.menus.items;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shared cooldown service for {@link MenuItem}s, backed by a hierarchical timing wheel.
+ * <p>
+ * Cooldowns are keyed by (key, player), where the key is either an item's unique id or a cooldown group
+ * shared by many items (see {@link MenuItem#setCooldownGroup(String)}).
+ * Adding, checking and removing a cooldown are O(1), expired cooldowns are dropped automatically,
+ * and time is measured in server ticks counted by one task instead of reading the wall clock per click.
+ * <p>
+ * The tick task only runs while there are cooldowns to expire.
+ * This class is not thread-safe and must be used from the main thread.
+ * @since 3.0.0
+ */
+@SuppressWarnings("unused")
+public final class Cooldowns {
+    private static final Cooldowns SHARED = new Cooldowns();
+
+    // level 0 has 256 one-tick slots, every level above has 64 slots each spanning the whole level below
+    private static final int ROOT_BITS = 8, LEVEL_BITS = 6, LEVELS = 4;
+    private static final int ROOT_SIZE = 1 << ROOT_BITS, LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final long MAX_DELTA = 1L << (ROOT_BITS + (LEVELS - 1) * LEVEL_BITS);
+
+    private final Entry[][] wheels = new Entry[LEVELS][];
+    private final Map<Object, Map<UUID, Entry>> entries = new HashMap<>();
+
+    private long tick = 0;
+    private int size = 0;
+    private BukkitTask task;
+
+    private Cooldowns() {
+        wheels[0] = new Entry[ROOT_SIZE];
+        for (int level = 1; level < LEVELS; level++) wheels[level] = new Entry[LEVEL_SIZE];
+    }
+
+    /**
+     * Get the cooldown service shared by every menu item.
+     * @return the shared service
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static Cooldowns shared() {
+        return SHARED;
+    }
+
+    /**
+     * Put the player on cooldown for the key, replacing any existing cooldown.
+     * @param key the item unique id or cooldown group
+     * @param player the player
+     * @param ticks how many ticks the cooldown lasts, 0 or less removes it
+     */
+    public void add(@NotNull Object key, @NotNull UUID player, long ticks) {
+        if (ticks <= 0) {
+            remove(key, player);
+            return;
+        }
+
+        Map<UUID, Entry> players = entries.computeIfAbsent(key, k -> new HashMap<>(4));
+        Entry entry = players.get(player);
+        if (entry == null) {
+            entry = new Entry(key, player);
+            players.put(player, entry);
+            size++;
+        } else {
+            unlink(entry);
+        }
+        entry.expiry = tick + ticks;
+        link(entry);
+        if (task == null) task = Bukkit.getScheduler().runTaskTimer(JavaPlugin.getProvidingPlugin(Cooldowns.class), this::advance, 1L, 1L);
+    }
+
+    /**
+     * Checks if the player is on cooldown for the key.
+     * @param key the item unique id or cooldown group
+     * @param player the player
+     * @return true if the cooldown hasn't expired yet
+     */
+    public boolean isOnCooldown(@NotNull Object key, @NotNull UUID player) {
+        return remaining(key, player) > 0;
+    }
+
+    /**
+     * Get how many ticks are left on the player's cooldown for the key.
+     * @param key the item unique id or cooldown group
+     * @param player the player
+     * @return the remaining ticks, or 0 if the player isn't on cooldown
+     */
+    public long remaining(@NotNull Object key, @NotNull UUID player) {
+        Map<UUID, Entry> players = entries.get(key);
+        if (players == null) return 0;
+        Entry entry = players.get(player);
+        return entry == null ? 0 : Math.max(0, entry.expiry - tick);
+    }
+
+    /**
+     * Checks if any player is on cooldown for the key.
+     * @param key the item unique id or cooldown group
+     * @return true if there's at least one active cooldown
+     */
+    public boolean hasCooldowns(@NotNull Object key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Remove the player's cooldown for the key, if any.
+     * @param key the item unique id or cooldown group
+     * @param player the player
+     */
+    public void remove(@NotNull Object key, @NotNull UUID player) {
+        Map<UUID, Entry> players = entries.get(key);
+        if (players == null) return;
+        Entry entry = players.remove(player);
+        if (entry == null) return;
+        unlink(entry);
+        size--;
+        if (players.isEmpty()) entries.remove(key);
+    }
+
+    /**
+     * Get the current tick of the service.
+     * @return the amount of ticks counted so far
+     */
+    public long tick() { return tick; }
+
+    /**
+     * Get the number of active cooldowns.
+     * @return the number of active cooldowns
+     */
+    public int size() { return size; }
+
+    private void advance() {
+        long now = ++tick;
+        int rootSlot = (int) (now & (ROOT_SIZE - 1));
+        if (rootSlot == 0) cascade(now);
+
+        Entry entry = wheels[0][rootSlot];
+        wheels[0][rootSlot] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = entry.next = null;
+            if (entry.expiry <= now) expire(entry);
+            else link(entry);
+            entry = next;
+        }
+
+        if (size == 0 && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void cascade(long now) {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = ROOT_BITS + (level - 1) * LEVEL_BITS;
+            int slot = (int) ((now >>> shift) & (LEVEL_SIZE - 1));
+
+            Entry entry = wheels[level][slot];
+            wheels[level][slot] = null;
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.prev = entry.next = null;
+                link(entry);
+                entry = next;
+            }
+            if (slot != 0) return;
+        }
+    }
+
+    private void expire(@NotNull Entry entry) {
+        Map<UUID, Entry> players = entries.get(entry.key);
+        if (players == null) return;
+        players.remove(entry.player);
+        size--;
+        if (players.isEmpty()) entries.remove(entry.key);
+    }
+
+    private void link(@NotNull Entry entry) {
+        long delta = entry.expiry - tick;
+        long expiry = delta >= MAX_DELTA ? tick + MAX_DELTA - 1 : entry.expiry;
+
+        int level = 0, slot;
+        if (delta < ROOT_SIZE) {
+            slot = (int) (expiry & (ROOT_SIZE - 1));
+        } else {
+            level = 1;
+            while (level < LEVELS - 1 && delta >= 1L << (ROOT_BITS + level * LEVEL_BITS)) level++;
+            slot = (int) ((expiry >>> (ROOT_BITS + (level - 1) * LEVEL_BITS)) & (LEVEL_SIZE - 1));
+        }
+
+        Entry[] wheel = wheels[level];
+        Entry head = wheel[slot];
+        entry.level = level;
+        entry.slot = slot;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) head.prev = entry;
+        wheel[slot] = entry;
+    }
+
+    private void unlink(@NotNull Entry entry) {
+        if (entry.prev != null) entry.prev.next = entry.next;
+        else if (wheels[entry.level][entry.slot] == entry) wheels[entry.level][entry.slot] = entry.next;
+        if (entry.next != null) entry.next.prev = entry.prev;
+        entry.prev = entry.next = null;
+    }
+
+    private static final class Entry {
+        final Object key;
+        final UUID player;
+        long expiry;
+        int level, slot;
+        Entry prev, next;
+
+        Entry(Object key, UUID player) {
+            this.key = key;
+            this.player = player;
+        }
+    }
+}
@@ -10,7 +10,6 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -106,7 +105,8 @@ public class ItemEditor {
      * @return the builder for chaining
      */
     public ItemEditor setTextLore(List<TextHolder> lore) {
-        this.setTextLore(lore.toArray(TextHolder[]::new));
+        if (this.hasNoItemMeta) return this;
+        TextHolder.asItemLore(meta, lore);
         return this;
     }
 
@@ -158,8 +158,7 @@ public class ItemEditor {
      */
     public ItemEditor setTextLore(TextHolder... lore) {
         if (this.hasNoItemMeta) return this;
-        List<TextHolder> ogLore = new ArrayList<>(lore.length);
-        for (TextHolder string : lore) string.asItemLoreAtEnd(meta);
+        TextHolder.asItemLore(meta, lore);
         return this;
     }
 
@@ -245,6 +244,7 @@ public class ItemEditor {
     public MenuItem done() {
         this.item.setItemMeta(meta);
         menuItem.itemStack = this.item;
+        menuItem.invalidateRenders();
         menuItem.clickAction = clickAction;
         return menuItem;
     }
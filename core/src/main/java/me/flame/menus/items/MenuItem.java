@@ -3,9 +3,16 @@ package me.flame.menus.items;
 import lombok.Getter;
 import lombok.Setter;
 
+import me.flame.menus.adventure.Lore;
+import me.flame.menus.adventure.LoreTemplate;
+import me.flame.menus.adventure.TextHolder;
+import me.flame.menus.adventure.Translations;
 import me.flame.menus.components.nbt.ItemNbt;
 import me.flame.menus.items.states.State;
+import me.flame.menus.items.states.ViewerState;
+import me.flame.menus.menu.Menu;
 import me.flame.menus.util.ItemResponse;
+import me.flame.menus.util.MenuExecutors;
 
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -24,6 +31,7 @@ import org.jetbrains.annotations.Nullable;
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * A Gui itemStack which was particularly made to have an action.
@@ -64,7 +72,27 @@ public final class MenuItem implements Nameable, Cloneable, Serializable, Compar
     private final UUID uuid;
 
     private List<State> states;
-    private Map<UUID, Long> usageCooldown;
+    private LoreTemplate.Rendering stateLore;
+    private List<ViewerState> viewerStates;
+    private LoreTemplate viewerLore;
+
+    /**
+     * Copies of the item stack rendered per locale, shared by every viewer of that locale.
+     */
+    private Map<Locale, ItemStack> localized;
+    private Boolean translatable;
+
+    /**
+     * Menus the item was rendered in since it has states, so a changed async state value only refreshes those.
+     * Menus are weakly held, a discarded menu drops out on its own.
+     */
+    private transient Set<Menu> menus;
+
+    /**
+     * The cooldown group shared with other items, or null if the item has its own cooldowns.
+     */
+    @Getter @Setter @Nullable
+    private String cooldownGroup;
 
     private MenuItem(ItemStack itemStack, @Nullable ItemResponse action) {
         Objects.requireNonNull(itemStack);
@@ -124,6 +152,16 @@ public final class MenuItem implements Nameable, Cloneable, Serializable, Compar
 
     public void setItemStack(ItemStack itemStack) {
         this.itemStack = ItemNbt.setString(itemStack, "woody-menu", uuid.toString());
+        invalidateRenders();
+    }
+
+    /**
+     * Drop everything rendered from the item stack, after it was replaced or edited.
+     */
+    void invalidateRenders() {
+        this.viewerLore = null;
+        this.localized = null;
+        this.translatable = null;
     }
 
     public @NotNull Material getType() {
@@ -140,16 +178,38 @@ public final class MenuItem implements Nameable, Cloneable, Serializable, Compar
     @Override
     public @NotNull MenuItem clone() {
         try {
-            return (MenuItem) super.clone();
+            MenuItem clone = (MenuItem) super.clone();
+            clone.menus = null;
+            return clone;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Execute the click action of this item.
+     * <p>
+     * If the item is async, the action runs on {@link MenuExecutors#async()};
+     * use {@link me.flame.menus.menu.Menu#sync(org.bukkit.entity.HumanEntity, Runnable)} to apply inventory changes back on the main thread.
+     * @param player the player who clicked
+     * @param event the click event
+     * @return a future completed once the action has run
+     */
     @SuppressWarnings("UnusedReturnValue")
     public CompletableFuture<Void> click(final Player player, final InventoryClickEvent event) {
+        return click(player, event, MenuExecutors.async());
+    }
+
+    /**
+     * Execute the click action of this item, running it on the executor if the item is async.
+     * @param player the player who clicked
+     * @param event the click event
+     * @param executor the executor async actions run on
+     * @return a future completed once the action has run
+     */
+    public CompletableFuture<Void> click(final Player player, final InventoryClickEvent event, final Executor executor) {
         return async
-                ? clickAction.thenAcceptAsync(ca -> ca.execute(player, event))
+                ? clickAction.thenAcceptAsync(ca -> ca.execute(player, event), executor)
                 : clickAction.thenAccept(ca -> ca.execute(player, event));
     }
 
@@ -196,10 +256,8 @@ public final class MenuItem implements Nameable, Cloneable, Serializable, Compar
         return states;
     }
 
-    private Map<UUID, Long> getUsageCooldown() {
-        if (usageCooldown == null)
-            usageCooldown = new HashMap<>(10);
-        return usageCooldown;
+    private @NotNull Object getCooldownKey() {
+        return cooldownGroup == null ? uuid : cooldownGroup;
     }
 
     @Nullable
@@ -232,37 +290,195 @@ public final class MenuItem implements Nameable, Cloneable, Serializable, Compar
         return ChatColor.translateAlternateColorCodes('&', s);
     }
 
-    public void updateStates() {
-        getStates().forEach(State::update);
+    /**
+     * Update the states of the item, re-rendering the lore only if a value changed.
+     * @return true if the item was re-rendered and is now dirty
+     */
+    public boolean updateStates() {
+        if (!hasStates()) return false;
+        LoreTemplate.Rendering lore = stateLore == null ? (stateLore = State.compile(states)) : stateLore;
+
+        boolean dirty = lore.isDirty();
+        for (int index = 0, size = states.size(); index < size; index++) {
+            State state = states.get(index);
+            if (state.poll()) dirty |= lore.set(index, state.lastValue().toString());
+        }
+        if (dirty) {
+            State.write(itemStack, lore.lines());
+            invalidateRenders();
+        }
+        return dirty;
+    }
+
+    public boolean hasViewerStates() {
+        return viewerStates != null && !viewerStates.isEmpty();
+    }
+
+    /**
+     * Add a placeholder rendered separately for every viewer of the menu.
+     * @param state the viewer state
+     */
+    public void addViewerState(@NotNull ViewerState state) {
+        if (viewerStates == null) viewerStates = new ArrayList<>(3);
+        viewerStates.add(state);
+        viewerLore = null;
+    }
+
+    public void removeViewerState(@NotNull ViewerState state) {
+        if (viewerStates == null) return;
+        viewerStates.remove(state);
+        viewerLore = null;
+    }
+
+    /**
+     * Checks if the name or lore of the item contains translation tokens.
+     * @return true if the item is rendered separately for every locale
+     * @see Translations
+     */
+    public boolean isTranslatable() {
+        Boolean translatable = this.translatable;
+        if (translatable != null) return translatable;
+
+        ItemMeta meta = itemStack.getItemMeta();
+        boolean result = false;
+        if (meta != null) {
+            result = meta.hasDisplayName() && Translations.isTranslatable(meta.getDisplayName());
+            List<String> lore = meta.getLore();
+            if (!result && lore != null) for (String line : lore) if (result = Translations.isTranslatable(line)) break;
+        }
+        this.translatable = result;
+        return result;
+    }
+
+    /**
+     * Render the item for the locale, translating its name and lore.
+     * The result is cached and shared by every viewer of the locale until the item changes.
+     * @param locale the locale
+     * @return the translated copy of the item stack, or the shared item stack if it isn't translatable
+     */
+    public @NotNull ItemStack renderFor(@NotNull Locale locale) {
+        if (!isTranslatable()) return itemStack;
+        if (localized == null) localized = new HashMap<>(4);
+        ItemStack rendered = localized.get(locale);
+        if (rendered != null) return rendered;
+
+        rendered = itemStack.clone();
+        ItemMeta meta = rendered.getItemMeta();
+        Translations.renderDisplayName(meta, locale);
+        Lore lore = new Lore(meta);
+        int size = lore.size();
+        if (size != 0) {
+            TextHolder[] lines = new TextHolder[size];
+            for (int line = 0; line < size; line++) lines[line] = Translations.render(lore.get(line), locale);
+            TextHolder.asItemLore(meta, lines);
+        }
+        rendered.setItemMeta(meta);
+        localized.put(locale, rendered);
+        return rendered;
+    }
+
+    /**
+     * Render the item for the viewer, resolving its viewer states and translating it to the viewer's locale.
+     * @param viewer the viewer
+     * @return a personalized copy of the item stack, the copy for the viewer's locale if there are no viewer states,
+     *         or the shared item stack if the item is neither personalized nor translatable
+     */
+    public @NotNull ItemStack renderFor(@NotNull Player viewer) {
+        boolean translatable = isTranslatable();
+        Locale locale = translatable ? Translations.localeOf(viewer) : null;
+        ItemStack base = translatable ? renderFor(locale) : itemStack;
+        if (!hasViewerStates()) return base;
+        int size = viewerStates.size();
+        if (viewerLore == null) {
+            String[] keys = new String[size];
+            for (int index = 0; index < size; index++) keys[index] = viewerStates.get(index).key().toString();
+            viewerLore = LoreTemplate.compile(new Lore(itemStack.getItemMeta()), keys);
+        }
+
+        LoreTemplate.Rendering lore = viewerLore.render();
+        for (int index = 0; index < size; index++) lore.set(index, viewerStates.get(index).valueFor(viewer).toString());
+
+        TextHolder[] lines = lore.lines();
+        if (translatable) {
+            lines = lines.clone();
+            for (int line = 0; line < lines.length; line++) lines[line] = Translations.render(lines[line], locale);
+        }
+        ItemStack rendered = base.clone();
+        State.write(rendered, lines);
+        return rendered;
     }
 
     public boolean hasStates() {
         return states != null && !states.isEmpty();
     }
 
+    /**
+     * Remember that the menu shows this item, called by menus when they render an item with states.
+     * @param menu the menu
+     */
+    public void trackMenu(@NotNull Menu menu) {
+        if (menus == null) menus = Collections.newSetFromMap(new WeakHashMap<>(2));
+        menus.add(menu);
+    }
+
+    /**
+     * Forget the menu, once it doesn't show this item anymore.
+     * @param menu the menu
+     */
+    public void untrackMenu(@NotNull Menu menu) {
+        if (menus != null) menus.remove(menu);
+    }
+
+    /**
+     * Get the menus this item was rendered in since it has states.
+     * @return a copy of the menus, some may not show the item anymore
+     */
+    public @NotNull List<Menu> getMenus() {
+        return menus == null ? Collections.emptyList() : new ArrayList<>(menus);
+    }
+
     public boolean hasCooldowns() {
-        return usageCooldown != null && !usageCooldown.isEmpty();
+        return Cooldowns.shared().hasCooldowns(getCooldownKey());
     }
 
     public void addState(State state) {
         getStates().add(state);
+        stateLore = null;
     }
 
     public void removeState(State state) {
         getStates().remove(state);
+        stateLore = null;
     }
 
     public void removeState(int state) {
         getStates().remove(state);
+        stateLore = null;
     }
 
     public boolean isOnCooldown(Player player) {
-        if (!hasCooldowns()) return false;
-        Long cooldown = getUsageCooldown().get(player.getUniqueId());
-        return cooldown != null && cooldown < System.currentTimeMillis();
+        return Cooldowns.shared().isOnCooldown(getCooldownKey(), player.getUniqueId());
     }
 
+    /**
+     * Put the player on cooldown for this item (or its cooldown group).
+     * @param player the player
+     * @param millis the cooldown in milliseconds, rounded up to whole ticks
+     */
     public void addCooldown(@NotNull Player player, long millis) {
-        getUsageCooldown().put(player.getUniqueId(), System.currentTimeMillis() + millis);
+        addCooldownTicks(player, (millis + 49) / 50);
+    }
+
+    /**
+     * Put the player on cooldown for this item (or its cooldown group).
+     * @param player the player
+     * @param ticks the cooldown in server ticks
+     */
+    public void addCooldownTicks(@NotNull Player player, long ticks) {
+        Cooldowns.shared().add(getCooldownKey(), player.getUniqueId(), ticks);
+    }
+
+    public void removeCooldown(@NotNull Player player) {
+        Cooldowns.shared().remove(getCooldownKey(), player.getUniqueId());
     }
 }
@@ -29,6 +29,7 @@ public class SkullItemEditor extends ItemEditor {
     public MenuItem done() {
         this.item.setItemMeta(skullMeta);
         menuItem.itemStack = this.item;
+        menuItem.invalidateRenders();
         menuItem.clickAction = clickAction;
         return menuItem;
     }
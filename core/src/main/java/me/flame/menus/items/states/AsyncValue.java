@@ -0,0 +1,78 @@
+package me.flame.menus.items.states;
+
+import me.flame.menus.adventure.TextHolder;
+import me.flame.menus.items.MenuItem;
+import me.flame.menus.menu.Menu;
+import me.flame.menus.util.MenuExecutors;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * A cached state value whose supplier runs on {@link MenuExecutors#async()}.
+ * <p>
+ * Reading never blocks: it returns the last cached value and, once the value is close to expiring,
+ * starts a refresh in the background (refresh-ahead), so the new value is usually ready before the old one expires.
+ * If a refresh fails or the supplier returns null, the old value is kept; a failed refresh is retried on a later read.
+ * When a refresh brings a different value, the slots holding the item are rewritten on the main thread
+ * in the open menus the item was rendered in, so the new value shows up without waiting for another update.
+ * @since 3.0.0
+ */
+final class AsyncValue implements Supplier<TextHolder> {
+    private final Supplier<?> source;
+    private final MenuItem item;
+    private final long ttl, refreshAhead;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile TextHolder cached;
+    private volatile long refreshAt;
+
+    AsyncValue(@NotNull Supplier<?> source, long ttlNanos, @NotNull TextHolder loading, @NotNull MenuItem item) {
+        this.source = source;
+        this.item = item;
+        this.ttl = ttlNanos;
+        // refresh during the last fifth of the ttl
+        this.refreshAhead = ttlNanos / 5;
+        this.cached = loading;
+        this.refreshAt = System.nanoTime();
+    }
+
+    @Override
+    public TextHolder get() {
+        if (System.nanoTime() - refreshAt >= 0 && refreshing.compareAndSet(false, true)) refresh();
+        return cached;
+    }
+
+    private void refresh() {
+        CompletableFuture.supplyAsync(source, MenuExecutors.async()).whenComplete((value, error) -> {
+            long now = System.nanoTime();
+            if (error == null) {
+                refreshAt = now + ttl - refreshAhead;
+                if (value != null) {
+                    TextHolder holder = value instanceof TextHolder ? (TextHolder) value : TextHolder.of(String.valueOf(value));
+                    if (!holder.equals(cached)) {
+                        cached = holder;
+                        Bukkit.getScheduler().runTask(JavaPlugin.getProvidingPlugin(AsyncValue.class), this::refreshOpenMenus);
+                    }
+                }
+            } else {
+                refreshAt = now + refreshAhead;
+            }
+            refreshing.set(false);
+        });
+    }
+
+    private void refreshOpenMenus() {
+        // only the menus the item was rendered in, menus that don't hold it anymore are forgotten
+        for (Menu menu : item.getMenus()) {
+            if (menu.getViewers().isEmpty()) continue;
+            if (!menu.refreshItem(item)) item.untrackMenu(menu);
+        }
+    }
+}
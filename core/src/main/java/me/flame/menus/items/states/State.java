@@ -3,16 +3,19 @@ package me.flame.menus.items.states;
 import com.google.common.base.Preconditions;
 
 import me.flame.menus.adventure.Lore;
+import me.flame.menus.adventure.LoreTemplate;
 import me.flame.menus.adventure.TextHolder;
 import me.flame.menus.items.MenuItem;
 
 import org.bukkit.inventory.ItemStack;
 
 import org.bukkit.inventory.meta.ItemMeta;
-import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.function.DoubleSupplier;
 import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
@@ -21,6 +24,9 @@ import java.util.function.Supplier;
 /**
  * States of automatically changing values of lore in {@link MenuItem}s.
  * <p>
+ * The key is replaced in place wherever it appears in the lore, and all states of an item are
+ * compiled into one {@link LoreTemplate}, so the lore is only scanned once.
+ * <p>
  * Best usage: <pre>{@code
  *     MenuItem item = ...
  *
@@ -36,6 +42,7 @@ public class State {
     private final MenuItem item;
     private final Supplier<TextHolder> value;
     private final Lore originalLore;
+    private TextHolder lastValue;
 
     private State(TextHolder key, Supplier<TextHolder> value, @NotNull MenuItem item) {
         this.item = item;
@@ -60,7 +67,7 @@ public class State {
 
     @Contract(value = "_, _, _ -> new", pure = true)
     public static @NotNull State of(String key, IntSupplier value, MenuItem item) {
-        return new State(TextHolder.of(key), () -> TextHolder.of(String.valueOf(value.getAsInt())), item);
+        return new State(TextHolder.of(key), () -> TextHolder.of(value.getAsInt()), item);
     }
 
     @Contract(value = "_, _, _ -> new", pure = true)
@@ -70,7 +77,7 @@ public class State {
 
     @Contract(value = "_, _, _ -> new", pure = true)
     public static @NotNull State of(String key, LongSupplier value, MenuItem item) {
-        return new State(TextHolder.of(key), () -> TextHolder.of(String.valueOf(value.getAsLong())), item);
+        return new State(TextHolder.of(key), () -> TextHolder.of(value.getAsLong()), item);
     }
 
     @Contract(value = "_, _, _ -> new", pure = true)
@@ -80,7 +87,7 @@ public class State {
 
     @Contract(value = "_, _, _ -> new", pure = true)
     public static @NotNull State of(TextHolder key, IntSupplier value, MenuItem item) {
-        return new State(key, () -> TextHolder.of(String.valueOf(value.getAsInt())), item);
+        return new State(key, () -> TextHolder.of(value.getAsInt()), item);
     }
 
     @Contract(value = "_, _, _ -> new", pure = true)
@@ -90,7 +97,7 @@ public class State {
 
     @Contract(value = "_, _, _ -> new", pure = true)
     public static @NotNull State of(TextHolder key, LongSupplier value, MenuItem item) {
-        return new State(key, () -> TextHolder.of(String.valueOf(value.getAsLong())), item);
+        return new State(key, () -> TextHolder.of(value.getAsLong()), item);
     }
 
     @Contract(value = "_, _, _ -> new", pure = true)
@@ -98,21 +105,116 @@ public class State {
         return new State(key, () -> value, item);
     }
 
-    @Contract(pure = true)
-    public void update() {
-        ItemStack otherItem = item.getItemStack();
-        Lore lore = new Lore(originalLore);
+    /**
+     * Create a state whose value is loaded on a background thread and cached for the ttl.
+     * <p>
+     * The render path always reads the cached value and never blocks on the supplier;
+     * the value is refreshed shortly before it expires and the item is re-rendered only when a new value arrives.
+     * @param key the key to replace in the lore
+     * @param value the supplier, for example a database query
+     * @param ttl how long a loaded value stays valid
+     * @param item the item
+     * @return the state
+     */
+    @Contract(value = "_, _, _, _ -> new", pure = true)
+    public static @NotNull State async(String key, Supplier<?> value, Duration ttl, MenuItem item) {
+        return async(TextHolder.of(key), value, ttl, TextHolder.empty(), item);
+    }
+
+    /**
+     * Create a state whose value is loaded on a background thread and cached for the ttl.
+     * <p>
+     * The render path always reads the cached value and never blocks on the supplier;
+     * the value is refreshed shortly before it expires and the item is re-rendered only when a new value arrives,
+     * in every open menu that holds it. A null value keeps the last value.
+     * @param key the key to replace in the lore
+     * @param value the supplier, for example a database query
+     * @param ttl how long a loaded value stays valid
+     * @param loading the value shown until the first value is loaded
+     * @param item the item
+     * @return the state
+     */
+    @Contract(value = "_, _, _, _, _ -> new", pure = true)
+    public static @NotNull State async(TextHolder key, Supplier<?> value, Duration ttl, TextHolder loading, MenuItem item) {
+        long ttlNanos = ttl.toNanos();
+        if (ttlNanos <= 0)
+            throw new IllegalArgumentException("TTL must be positive" + "\nTTL: " + ttl + "\nFix: Use a positive duration");
+        return new State(key, new AsyncValue(value, ttlNanos, loading, item), item);
+    }
+
+    /**
+     * Re-render the lore of the item if the value of any of its states changed.
+     * @return true if a value changed and the item was re-rendered
+     * @see MenuItem#updateStates()
+     */
+    public boolean update() {
+        return item.updateStates();
+    }
+
+    /**
+     * Get the value from the supplier and remember it if it changed.
+     * @return true if the value is different from the last rendered value
+     */
+    public boolean poll() {
+        TextHolder newValue = value.get();
+        if (newValue.equals(lastValue)) return false;
+        lastValue = newValue;
+        return true;
+    }
+
+    /**
+     * Get the last value polled from the supplier.
+     * @return the value, or null if it was never polled
+     */
+    public @Nullable TextHolder lastValue() {
+        return lastValue;
+    }
 
-        int size = lore.size();
-        for (int stringIndex = 0; stringIndex < size; stringIndex++) {
-            replaceWithKey(stringIndex, lore, key, value);
+    /**
+     * Compile the original lore of the states into one template, where every state is a placeholder.
+     * <p>
+     * The placeholder index of every state is its index in the list, and values already polled are filled in.
+     * @param states the states of an item
+     * @return the rendering of the compiled template
+     * @throws IllegalStateException if the states were created from different lore
+     */
+    public static @NotNull LoreTemplate.Rendering compile(@NotNull List<State> states) {
+        int size = states.size();
+        String[] keys = new String[size];
+        Lore lore = states.get(0).originalLore;
+        for (int index = 0; index < size; index++) {
+            State state = states.get(index);
+            if (!sameLore(lore, state.originalLore))
+                throw new IllegalStateException("States of one item were created from different lore" + "\nState: " + state.key + "\nFix: Create all states after the lore of the item is final");
+            keys[index] = state.key.toString();
         }
-        lore.toItemLore(otherItem, true);
+
+        LoreTemplate.Rendering rendering = LoreTemplate.compile(lore, keys).render();
+        for (int index = 0; index < size; index++) {
+            TextHolder value = states.get(index).lastValue;
+            if (value != null) rendering.set(index, value.toString());
+        }
+        return rendering;
+    }
+
+    private static boolean sameLore(@NotNull Lore first, @NotNull Lore second) {
+        if (first == second) return true;
+        int size = first.size();
+        if (size != second.size()) return false;
+        for (int line = 0; line < size; line++) if (!first.get(line).equals(second.get(line))) return false;
+        return true;
     }
 
-    private static void replaceWithKey(int stringIndex, @NotNull Lore list, TextHolder key, Supplier<TextHolder> value) {
-        TextHolder currentString = list.get(stringIndex);
-        if (!currentString.contains(key)) return;
-        list.set(stringIndex, value.get());
+    /**
+     * Write the rendered lines as the lore of the item stack with a single meta write.
+     * @param itemStack the item stack
+     * @param lines the rendered lines
+     */
+    public static void write(@NotNull ItemStack itemStack, @NotNull TextHolder[] lines) {
+        ItemMeta meta = itemStack.getItemMeta();
+        if (meta == null) return;
+
+        TextHolder.asItemLore(meta, lines);
+        itemStack.setItemMeta(meta);
     }
 }
@@ -0,0 +1,59 @@
+package me.flame.menus.items.states;
+
+import me.flame.menus.adventure.TextHolder;
+import me.flame.menus.items.MenuItem;
+
+import org.bukkit.entity.Player;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
+/**
+ * A placeholder in the lore of a {@link MenuItem} that is rendered separately for every viewer.
+ * <p>
+ * The menu keeps a single template item and only the items with viewer states are rendered per viewer.
+ * Bukkit can't show different items to the viewers of one inventory, so every viewer of a menu with viewer states
+ * gets a whole inventory of their own, which holds a server-side copy of every slot.
+ * Only the item stacks of personalized slots are created per viewer, every other slot is copied from the shared item stack.
+ * <p>
+ * Best usage: <pre>{@code
+ *     MenuItem item = ...
+ *     item.addViewerState(ViewerState.of("%balance%", player -> economy.getBalance(player)));
+ * }</pre>
+ * @since 3.0.0
+ */
+public final class ViewerState {
+    private final TextHolder key;
+    private final Function<? super Player, ?> value;
+
+    private ViewerState(TextHolder key, Function<? super Player, ?> value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull ViewerState of(String key, Function<? super Player, ?> value) {
+        return new ViewerState(TextHolder.of(key), value);
+    }
+
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull ViewerState of(TextHolder key, Function<? super Player, ?> value) {
+        return new ViewerState(key, value);
+    }
+
+    public @NotNull TextHolder key() {
+        return key;
+    }
+
+    /**
+     * Get the value of the placeholder for the viewer.
+     * @param viewer the viewer
+     * @return the value
+     */
+    public @NotNull TextHolder valueFor(@NotNull Player viewer) {
+        Object result = value.apply(viewer);
+        return result instanceof TextHolder ? (TextHolder) result : TextHolder.of(String.valueOf(result));
+    }
+}
@@ -0,0 +1,129 @@
+package me.flame.menus.menu;
+
+import me.flame.menus.util.MenuExecutors;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the async click work each viewer started in a menu, so it can be stopped when they close it.
+ * <p>
+ * Every viewer gets a {@link Session} for as long as they have the menu open.
+ * Async click handlers are submitted through the session: handlers that haven't started when the session is closed are skipped,
+ * and main thread hops made through {@link Menu#sync(org.bukkit.entity.HumanEntity, Runnable)} do nothing once it's closed,
+ * so a handler that was already running can't write to the menu after the viewer has left.
+ * @since 3.0.0
+ */
+final class AsyncSessions {
+    /**
+     * The session of the handler running on the current thread.
+     */
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    private final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong skipped = new AtomicLong();
+
+    @NotNull
+    Session session(@NotNull UUID viewer) {
+        return sessions.computeIfAbsent(viewer, Session::new);
+    }
+
+    /**
+     * Get the session async work of the viewer belongs to:
+     * the session of the handler running on this thread, or else the viewer's open session.
+     * @param viewer the viewer
+     * @return the session, or null if the viewer has none
+     */
+    @Nullable
+    Session sessionOf(@NotNull UUID viewer) {
+        Session current = CURRENT.get();
+        return current != null && current.viewer.equals(viewer) ? current : sessions.get(viewer);
+    }
+
+    /**
+     * Close the viewer's session.
+     * @param viewer the viewer
+     * @return the number of handlers that were skipped because they hadn't started yet
+     */
+    int cancel(@NotNull UUID viewer) {
+        Session session = sessions.remove(viewer);
+        if (session == null) return 0;
+
+        int count = session.close();
+        skipped.addAndGet(count);
+        return count;
+    }
+
+    long skipped() {
+        return skipped.get();
+    }
+
+    /**
+     * The async work of one viewer between opening and closing the menu.
+     */
+    static final class Session implements Executor {
+        private final UUID viewer;
+        private final Set<Task> queued = ConcurrentHashMap.newKeySet();
+        private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+        private volatile boolean open = true;
+
+        private Session(@NotNull UUID viewer) {
+            this.viewer = viewer;
+        }
+
+        boolean isOpen() { return open; }
+
+        void track(@NotNull CompletableFuture<?> future) {
+            if (future.isDone()) return;
+            pending.add(future);
+            future.whenComplete((result, error) -> pending.remove(future));
+        }
+
+        @Override
+        public void execute(@NotNull Runnable command) {
+            Task task = new Task(command);
+            queued.add(task);
+            MenuExecutors.async().execute(task);
+        }
+
+        private int close() {
+            open = false;
+            int count = 0;
+            for (Task task : queued) if (task.claimed.compareAndSet(false, true)) count++;
+            queued.clear();
+            // completes the futures of the skipped handlers, running handlers go on but their hops are dropped
+            for (CompletableFuture<?> future : pending) future.cancel(false);
+            return count;
+        }
+
+        private final class Task implements Runnable {
+            private final Runnable command;
+            private final AtomicBoolean claimed = new AtomicBoolean();
+
+            private Task(@NotNull Runnable command) {
+                this.command = command;
+            }
+
+            @Override
+            public void run() {
+                if (!claimed.compareAndSet(false, true)) return;
+                queued.remove(this);
+                CURRENT.set(Session.this);
+                try {
+                    command.run();
+                } finally {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package me.flame.menus.menu;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Per-player token bucket that limits how fast clicks are handled in a menu.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ *     Menu menu = ...;
+ *     // at most 10 clicks in a burst, refilling 10 clicks per second
+ *     menu.setClickLimiter(ClickLimiter.of(10, Duration.ofSeconds(1)));
+ * }</pre>
+ * Every bucket is stored as a single {@code long} (the time at which it's full again) in an array
+ * indexed by a dense per-session player index, so checking a click doesn't allocate.
+ * A bucket whose index was recycled for another player starts full again.
+ * Clicks over the limit are denied by {@link MenuListeners} before any handler is looked up.
+ * @since 3.0.0
+ */
+@SuppressWarnings("unused")
+public final class ClickLimiter {
+    private final long interval, tolerance;
+    private final int capacity;
+
+    private long[] fullAt = new long[16];
+    private int[] generations = new int[16];
+    private long rejected = 0;
+
+    private ClickLimiter(int capacity, long interval) {
+        this.capacity = capacity;
+        this.interval = interval;
+        this.tolerance = interval * (capacity - 1);
+    }
+
+    /**
+     * Create a limiter that allows bursts of up to {@code clicks} clicks and refills {@code clicks} clicks per {@code per}.
+     * @param clicks the capacity of every player's bucket
+     * @param per the time it takes to refill the whole bucket
+     * @return the limiter
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static ClickLimiter of(int clicks, @NotNull Duration per) {
+        if (clicks < 1)
+            throw new IllegalArgumentException("Clicks must be 1 or more" + "\nClicks: " + clicks + "\nFix: Allow at least one click");
+        long nanos = per.toNanos();
+        if (nanos <= 0)
+            throw new IllegalArgumentException("Refill time must be positive" + "\nRefill time: " + per + "\nFix: Use a positive duration");
+        return new ClickLimiter(clicks, Math.max(1, nanos / clicks));
+    }
+
+    /**
+     * Try to take one click out of the player's bucket.
+     * @param playerIndex the dense index of the player
+     * @param generation the generation of the index, see {@link PlayerIndex#generationOf(int)}
+     * @return true if the click is allowed, false if it's over the limit
+     */
+    boolean tryAcquire(int playerIndex, int generation) {
+        return tryAcquire(playerIndex, generation, System.nanoTime());
+    }
+
+    boolean tryAcquire(int playerIndex, int generation, long now) {
+        long[] fullAt = this.fullAt;
+        int[] generations = this.generations;
+        if (playerIndex >= fullAt.length) {
+            int length = Math.max(playerIndex + 1, fullAt.length << 1);
+            this.fullAt = fullAt = Arrays.copyOf(fullAt, length);
+            this.generations = generations = Arrays.copyOf(generations, length);
+        }
+        if (generations[playerIndex] != generation) {
+            // the index belonged to a player that quit, so the debt of their bucket isn't this player's
+            generations[playerIndex] = generation;
+            fullAt[playerIndex] = 0;
+        }
+
+        long full = fullAt[playerIndex];
+        if (full == 0 || full < now) full = now;
+        if (full - now > tolerance) {
+            rejected++;
+            return false;
+        }
+        fullAt[playerIndex] = full + interval;
+        return true;
+    }
+
+    /**
+     * Get how many clicks were denied by this limiter.
+     * @return the number of rejected clicks
+     */
+    public long getRejected() { return rejected; }
+
+    /**
+     * Get the capacity of every player's bucket.
+     * @return the maximum amount of clicks in a burst
+     */
+    public int getCapacity() { return capacity; }
+}
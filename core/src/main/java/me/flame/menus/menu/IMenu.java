@@ -4,12 +4,14 @@ import me.flame.menus.adventure.TextHolder;
 import me.flame.menus.items.MenuItem;
 import me.flame.menus.menu.animation.Animation;
 import me.flame.menus.modifiers.Modifier;
+import me.flame.menus.util.IntObjConsumer;
 
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.time.Duration;
@@ -81,6 +83,22 @@ public interface IMenu extends InventoryHolder {
      */
     Optional<MenuItem> get(int i);
 
+    /**
+     * get the item from the list of items in the menu without wrapping it.
+     * <p></p>
+     * This is the recommended way in hot paths (clicks, ticks), as it doesn't allocate anything.
+     * @param slot the slot of the item
+     * @return the item or null if the slot is empty
+     */
+    @Nullable MenuItem itemAt(int slot);
+
+    /**
+     * Loop over every non-null item in the menu along with its slot.
+     * <p>
+     * The slot is passed as a primitive, so nothing is boxed or copied.
+     * @param action the action, receiving the slot and the item
+     */
+    void forEachSlot(@NotNull IntObjConsumer<? super MenuItem> action);
 
     /**
      * Checks if the given slot has an item.
@@ -181,7 +199,7 @@ public interface IMenu extends InventoryHolder {
     void updateTitle(String title);
 
     /**
-     * Update the inventory with the title (RE-OPENS THE INVENTORY)
+     * Update the inventory with the title (RE-OPENS THE INVENTORY, unless the title didn't change)
      * @param title the new title
      */
     void updateTitle(TextHolder title);
@@ -290,6 +308,25 @@ public interface IMenu extends InventoryHolder {
     @NotNull
     @Unmodifiable List<MenuItem> getItemList();
 
+    /**
+     * Get a read-only view of the menu items in the menu.
+     * <p>
+     * Unlike {@link #getItems()} and {@link #getItemList()} this doesn't copy the items,
+     * so changes to the menu are visible through the view.
+     * @return an unmodifiable list view
+     */
+    @NotNull
+    @Unmodifiable List<MenuItem> itemView();
+
+    /**
+     * Get a sized spliterator over the menu items in the menu.
+     * <p>
+     * Unlike {@link #stream()} this doesn't stream on an array copy.
+     * @return the spliterator
+     */
+    @NotNull
+    Spliterator<MenuItem> spliterator();
+
     /**
      * Get a copy of the item data in the menu
      * @return the copy
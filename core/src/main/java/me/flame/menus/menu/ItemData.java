@@ -2,9 +2,13 @@ package me.flame.menus.menu;
 
 import com.google.common.collect.ImmutableSet;
 import me.flame.menus.items.MenuItem;
+import me.flame.menus.util.IntObjConsumer;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
 import java.util.function.Consumer;
@@ -25,6 +29,7 @@ public class ItemData {
     private int size;
     private final Menu menu;
     private MenuItem[] items;
+    private List<MenuItem> view;
 
     public ItemData(@NotNull final Menu menu) {
         this.menu = menu;
@@ -44,6 +49,25 @@ public class ItemData {
         return Arrays.copyOf(items, items.length);
     }
 
+    /**
+     * Get a read-only view over the items, backed by the item array.
+     * <p>
+     * Unlike {@link #getItems()} this doesn't copy, and the same view is returned until the contents are replaced.
+     * @return an unmodifiable list view of the items
+     */
+    public @NotNull @Unmodifiable List<MenuItem> view() {
+        List<MenuItem> view = this.view;
+        return view == null ? (this.view = Collections.unmodifiableList(Arrays.asList(items))) : view;
+    }
+
+    /**
+     * Get a sized spliterator over the items without copying the item array.
+     * @return the spliterator
+     */
+    public @NotNull Spliterator<MenuItem> spliterator() {
+        return Spliterators.spliterator(items, 0, items.length, Spliterator.ORDERED);
+    }
+
     public boolean addItem(@NotNull final ItemStack... items) {
         final List<MenuItem> notAddedItems = new ArrayList<>(items.length);
 
@@ -123,22 +147,61 @@ public class ItemData {
 
     void recreateInventory() {
         items = Arrays.copyOf(items, size);
+        view = null;
     }
 
     public void contents(MenuItem... items) {
         if (items.length % 9 != 0) throw new IllegalArgumentException("Length of items is not a multiple of 9");
         this.items = Arrays.copyOf(items, items.length);
+        this.view = null;
         menu.update(true);
     }
 
+    /**
+     * Copy a compiled layout over the first slots, see {@link MenuLayout}.
+     * @param layout the items of the layout, null for empty slots
+     */
+    void stamp(MenuItem @NotNull [] layout) {
+        System.arraycopy(layout, 0, items, 0, Math.min(layout.length, size));
+    }
+
     public void setItem(int slot, MenuItem item) {
         items[slot] = item;
     }
 
+    /**
+     * Set the item in every slot of the mask, in one pass over the mask's slots.
+     * @param mask the slots
+     * @param item the item
+     */
+    public void setItems(@NotNull SlotMask mask, MenuItem item) {
+        for (int slot = mask.nextSlot(0); slot != -1 && slot < size; slot = mask.nextSlot(slot + 1)) items[slot] = item;
+    }
+
+    /**
+     * Set the item in every empty slot of the mask, in one pass over the mask's slots.
+     * @param mask the slots
+     * @param item the item
+     */
+    public void fillEmpty(@NotNull SlotMask mask, MenuItem item) {
+        for (int slot = mask.nextSlot(0); slot != -1 && slot < size; slot = mask.nextSlot(slot + 1)) {
+            if (items[slot] == null) items[slot] = item;
+        }
+    }
+
     public MenuItem getItem(int i) {
         return items[i];
     }
 
+    /**
+     * Get the item at the slot without wrapping it.
+     * @param slot the slot
+     * @return the item, or null if the slot is empty
+     */
+    public @Nullable MenuItem itemAt(int slot) {
+        return items[slot];
+    }
+
     public void forEach(Consumer<? super MenuItem> action) {
         for (MenuItem item : items) action.accept(item);
     }
@@ -147,6 +210,18 @@ public class ItemData {
         for (int index = 0; index < items.length; index++) action.accept(items[index], index);
     }
 
+    /**
+     * Loop over every non-null item along with its slot.
+     * @param action the action, receiving the slot and the item
+     */
+    public void forEachSlot(IntObjConsumer<? super MenuItem> action) {
+        final MenuItem[] items = this.items;
+        for (int slot = 0; slot < items.length; slot++) {
+            MenuItem item = items[slot];
+            if (item != null) action.accept(slot, item);
+        }
+    }
+
     public Optional<MenuItem> findFirst(Predicate<MenuItem> action) {
         for (MenuItem item : items) if (action.test(item)) return Optional.of(item);
         return Optional.empty();
@@ -183,11 +258,60 @@ public class ItemData {
     public void recreateItems(Inventory inventory) {
         for (int itemIndex = 0; itemIndex < size; itemIndex++) {
             MenuItem item = items[itemIndex];
-            if (item != null && item.hasStates()) item.updateStates();
+            if (item != null && item.hasStates()) {
+                item.trackMenu(menu);
+                item.updateStates();
+            }
             inventory.setItem(itemIndex, item == null ? null : item.getItemStack());
         }
     }
 
+    /**
+     * Render every item into a viewer's own inventory, resolving viewer states for that viewer only.
+     * <p>
+     * Items without viewer states are the shared item stacks, but the inventory still stores its own copy of every slot.
+     * @param viewer the viewer
+     * @param inventory the viewer's inventory
+     */
+    public void renderFor(@NotNull Player viewer, @NotNull Inventory inventory) {
+        for (int itemIndex = 0; itemIndex < size; itemIndex++) {
+            MenuItem item = items[itemIndex];
+            if (item != null && item.hasStates()) item.trackMenu(menu);
+            inventory.setItem(itemIndex, item == null ? null : item.renderFor(viewer));
+        }
+    }
+
+    /**
+     * Render the items into the inventory shared by every viewer of the locale.
+     * @param locale the locale
+     * @param inventory the locale's inventory
+     */
+    public void renderFor(@NotNull Locale locale, @NotNull Inventory inventory) {
+        for (int itemIndex = 0; itemIndex < size; itemIndex++) {
+            MenuItem item = items[itemIndex];
+            if (item != null && item.hasStates()) item.trackMenu(menu);
+            inventory.setItem(itemIndex, item == null ? null : item.renderFor(locale));
+        }
+    }
+
+    /**
+     * Checks if any item has a name or lore that's translated per locale.
+     * @return true if at least one item is translatable
+     */
+    public boolean isTranslatable() {
+        for (MenuItem item : items) if (item != null && item.isTranslatable()) return true;
+        return false;
+    }
+
+    /**
+     * Checks if any item has states rendered separately for every viewer.
+     * @return true if at least one item has viewer states
+     */
+    public boolean hasViewerStates() {
+        for (MenuItem item : items) if (item != null && item.hasViewerStates()) return true;
+        return false;
+    }
+
     public void updateItem(int slot, @NotNull ItemStack itemStack, MenuItem guiItem) {
         if (guiItem == null) {
             items[slot] = MenuItem.of(itemStack);
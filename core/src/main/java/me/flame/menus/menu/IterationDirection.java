@@ -1,100 +1,120 @@
 package me.flame.menus.menu;
 
+/**
+ * The direction a {@link me.flame.menus.menu.iterator.MenuIterator} moves in.
+ * <p>
+ * Directions move over the cells of a grid of {@code width} columns, numbered row by row
+ * (see {@link MenuType#gridSlot(int)}), so they work the same for chests, hoppers and dispensers.
+ */
 @SuppressWarnings("unused")
 public enum IterationDirection {
     HORIZONTAL {
         @Override
-        public int shift(int slot, int size) {
+        public int shift(int slot, int size, int width) {
             // Shift to the next slot horizontally
-            return slot >= size ? -1 : slot + 1;
+            return slot + 1 >= size ? -1 : slot + 1;
         }
     },
 
     VERTICAL {
         @Override
-        public int shift(int slot, int size) {
-            int col = (slot % 9) + 1;
-            int row = ((slot - 1) / 9) + 1;
-            if (row == 6) {
-                if (col == 9) {
-                    return -1;
-                } else {
-                    return slot - (size - 9);
-                }
-            }
-            return (slot + 9 > size) ? -1 : slot + 9;
+        public int shift(int slot, int size, int width) {
+            // down the column, then the top of the next column
+            if (slot + width < size) return slot + width;
+            int column = slot % width + 1;
+            return column >= width || column >= size ? -1 : column;
         }
     },
 
     UPWARDS_ONLY {
         @Override
-        public int shift(int slot, int size) {
-            return (slot - 9 < 0) ? -1 : slot - 9;
+        public int shift(int slot, int size, int width) {
+            return (slot - width < 0) ? -1 : slot - width;
         }
     },
 
     DOWNWARDS_ONLY {
         @Override
-        public int shift(int slot, int size) {
-            return (slot + 9 >= size) ? -1 : slot + 9;
+        public int shift(int slot, int size, int width) {
+            return (slot + width >= size) ? -1 : slot + width;
         }
     },
 
     RIGHT_ONLY {
         @Override
-        public int shift(int slot, int size) {
-            return slot / 9 != ((slot + 1) / 9) ? -1 : slot + 1;
+        public int shift(int slot, int size, int width) {
+            return ((slot + 1) % width == 0 || slot + 1 >= size) ? -1 : slot + 1;
         }
     },
 
     LEFT_ONLY {
         @Override
-        public int shift(int slot, int size) {
-            return slot / 9 != ((slot + 1) / 9) ? -1 : slot - 1;
+        public int shift(int slot, int size, int width) {
+            return (slot % width == 0) ? -1 : slot - 1;
         }
     },
 
     RIGHT_UPWARDS_ONLY {
         @Override
-        public int shift(int slot, int size) {
-            return (slot - 8 < 0 || slot - 8 >= size) ? -1 : slot - 8;
+        public int shift(int slot, int size, int width) {
+            return ((slot + 1) % width == 0 || slot - width < 0) ? -1 : slot - width + 1;
         }
     },
 
     RIGHT_DOWNWARDS_ONLY {
         @Override
-        public int shift(int slot, int size) {
-            return (slot + 10 >= size) ? -1 : slot + 10;
+        public int shift(int slot, int size, int width) {
+            return ((slot + 1) % width == 0 || slot + width + 1 >= size) ? -1 : slot + width + 1;
         }
     },
 
     LEFT_UPWARDS {
         @Override
-        public int shift(int slot, int size) {
-            return (slot - 10 < 0 || slot - 10 >= size) ? -1 : slot - 10;
+        public int shift(int slot, int size, int width) {
+            return (slot % width == 0 || slot - width < 0) ? -1 : slot - width - 1;
         }
     },
 
     LEFT_DOWNWARDS {
         @Override
-        public int shift(int slot, int size) {
-            return (slot + 8 >= size) ? -1 : slot + 8;
+        public int shift(int slot, int size, int width) {
+            return (slot % width == 0 || slot + width - 1 >= size) ? -1 : slot + width - 1;
         }
     },
 
     BACKWARDS_HORIZONTAL {
         @Override
-        public int shift(int slot, int size) {
+        public int shift(int slot, int size, int width) {
             return (slot - 1 < 0) ? -1 : slot - 1;
         }
     },
 
     BACKWARDS_VERTICAL {
         @Override
-        public int shift(int slot, int size) {
-            return (slot - size < 0) ? -1 : slot - size;
+        public int shift(int slot, int size, int width) {
+            // up the column, then the bottom of the previous column
+            if (slot - width >= 0) return slot - width;
+            int column = slot % width - 1;
+            return column < 0 ? -1 : column + ((size - 1 - column) / width) * width;
         }
     };
 
-    public abstract int shift(int slot, int size);
-}
\ No newline at end of file
+    /**
+     * Get the cell after the cell in this direction.
+     * @param slot the cell
+     * @param size the amount of cells of the grid
+     * @param width the width of the grid, see {@link MenuType#getWidth()}
+     * @return the next cell, or -1 if there's none
+     */
+    public abstract int shift(int slot, int size, int width);
+
+    /**
+     * Get the cell after the cell in this direction, in a chest.
+     * @param slot the cell
+     * @param size the amount of cells of the chest
+     * @return the next cell, or -1 if there's none
+     */
+    public int shift(int slot, int size) {
+        return shift(slot, size, MenuType.CHEST.getWidth());
+    }
+}
@@ -99,7 +99,7 @@ public class KeyedMenu extends Menu {
         if (player.isSleeping()) return;
 
         this.data = pages.get(openPage);
-        player.openInventory(inventory);
+        openView(player);
     }
 
     /**
@@ -7,13 +7,16 @@ import lombok.Getter;
 import lombok.Setter;
 
 import me.flame.menus.adventure.TextHolder;
+import me.flame.menus.adventure.Translations;
 import me.flame.menus.components.nbt.*;
 import me.flame.menus.events.BeforeAnimatingEvent;
 import me.flame.menus.items.MenuItem;
 import me.flame.menus.menu.animation.Animation;
 import me.flame.menus.menu.fillers.*;
 import me.flame.menus.modifiers.Modifier;
+import me.flame.menus.util.IntObjConsumer;
 import me.flame.menus.util.ItemResponse;
+import me.flame.menus.util.MenuExecutors;
 import me.flame.menus.util.VersionHelper;
 
 import org.bukkit.Bukkit;
@@ -34,6 +37,7 @@ import org.jetbrains.annotations.*;
 import java.time.Duration;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.*;
 import java.util.stream.Stream;
 
@@ -72,6 +76,38 @@ public class Menu implements IMenu, RandomAccess, Serializable {
 
     protected ItemResponse[] slotActions;
 
+    protected @Getter @Setter @Nullable ClickLimiter clickLimiter;
+
+    private AsyncSessions asyncSessions;
+
+    /**
+     * Minimum time between two title changes in nanoseconds; title updates within it are coalesced into the latest one.
+     */
+    private long titleUpdateInterval = 0, lastTitleUpdate = 0;
+
+    private @Nullable TextHolder pendingTitle;
+
+    /**
+     * Slots set by {@link #stageItem(int, MenuItem)} that weren't written into the open inventories yet.
+     */
+    private BitSet stagedSlots;
+
+    /**
+     * Inventories of viewers who see personalized items, only created when the menu has viewer states.
+     * Each one is a whole inventory (the server copies every slot into it), only its personalized slots differ from {@link #inventory}.
+     */
+    private Map<UUID, Inventory> views;
+
+    /**
+     * Inventories shared by every viewer of a locale, only created when the title or an item is translatable.
+     */
+    private Map<Locale, Inventory> localeViews;
+
+    /**
+     * The locale every viewer of a locale view opened it with, since the viewer's locale may change while it's open.
+     */
+    private Map<UUID, Locale> viewerLocales;
+
     @Getter
     final List<Animation> animations = new ArrayList<>(5);
 
@@ -120,6 +156,59 @@ public class Menu implements IMenu, RandomAccess, Serializable {
 
     public boolean hasSlotActions() { return slotActions != null; }
 
+    /**
+     * Execute the click action of the item in the viewer's session of this menu,
+     * so an async action that hasn't started yet is skipped if they close the menu.
+     * @param viewer the viewer who clicked
+     * @param item the clicked item
+     * @param event the click event
+     */
+    void click(@NotNull Player viewer, @NotNull MenuItem item, @NotNull InventoryClickEvent event) {
+        if (asyncSessions == null) asyncSessions = new AsyncSessions();
+        AsyncSessions.Session session = asyncSessions.session(viewer.getUniqueId());
+        session.track(item.click(viewer, event, session));
+    }
+
+    /**
+     * Run the task on the main thread if the viewer still has this menu open,
+     * to apply inventory changes after async work.
+     * <p>
+     * Called from an async click action, the task is dropped once the viewer closed the menu the action was started in,
+     * even if they opened it again since.
+     * @param viewer the viewer the work is for
+     * @param task the task
+     * @return a future completed once the task has run or was dropped
+     */
+    @NotNull
+    public CompletableFuture<Void> sync(@NotNull HumanEntity viewer, @NotNull Runnable task) {
+        AsyncSessions.Session session = asyncSessions == null ? null : asyncSessions.sessionOf(viewer.getUniqueId());
+        return MenuExecutors.sync(() -> {
+            if (session != null && !session.isOpen()) return;
+            if (viewer.getOpenInventory().getTopInventory().getHolder() != this) return;
+            task.run();
+        });
+    }
+
+    /**
+     * Stop the async click work the viewer started in this menu.
+     * <p>
+     * Actions that haven't started are skipped. Actions that are already running keep going,
+     * but their {@link #sync(HumanEntity, Runnable)} tasks are dropped.
+     * @param viewer the viewer
+     * @return the number of skipped actions
+     */
+    public int cancelAsync(@NotNull HumanEntity viewer) {
+        return asyncSessions == null ? 0 : asyncSessions.cancel(viewer.getUniqueId());
+    }
+
+    /**
+     * Get how many async click actions were skipped because their viewer closed the menu before they started.
+     * @return the total number of skipped actions
+     */
+    public long getCancelledAsyncTasks() {
+        return asyncSessions == null ? 0 : asyncSessions.skipped();
+    }
+
     public MenuFiller getFiller() { return defaultFiller; }
 
     public <T extends MenuFiller> T getFiller(@NotNull Class<T> value) { return value.cast(defaultFiller); }
@@ -130,7 +219,14 @@ public class Menu implements IMenu, RandomAccess, Serializable {
 
     public void forEach(Consumer<? super MenuItem> action) { data.forEach(action); }
 
-    public List<HumanEntity> getViewers() { return inventory.getViewers(); }
+    public List<HumanEntity> getViewers() {
+        boolean noViews = views == null || views.isEmpty(), noLocaleViews = localeViews == null || localeViews.isEmpty();
+        if (noViews && noLocaleViews) return inventory.getViewers();
+        List<HumanEntity> viewers = new ArrayList<>(inventory.getViewers());
+        if (!noViews) for (Inventory view : views.values()) viewers.addAll(view.getViewers());
+        if (!noLocaleViews) for (Inventory view : localeViews.values()) viewers.addAll(view.getViewers());
+        return viewers;
+    }
 
     public boolean addItem(@NotNull final ItemStack... items) {
         return (changed = data.addItem(items));
@@ -153,10 +249,100 @@ public class Menu implements IMenu, RandomAccess, Serializable {
         changed = true;
     }
 
+    void stampLayout(MenuItem @NotNull [] layout) {
+        this.data.stamp(layout);
+        changed = true;
+    }
+
+    /**
+     * Set the item in every slot of the mask.
+     * @param mask the slots, see {@link SlotMask}
+     * @param item the item
+     */
+    public void setItems(@NotNull SlotMask mask, MenuItem item) {
+        this.data.setItems(mask, item);
+        changed = true;
+    }
+
+    /**
+     * Set the item in every empty slot of the mask.
+     * @param mask the slots, see {@link SlotMask}
+     * @param item the item
+     */
+    public void fillEmpty(@NotNull SlotMask mask, MenuItem item) {
+        this.data.fillEmpty(mask, item);
+        changed = true;
+    }
+
+    /**
+     * Set the item without marking the menu as changed; it reaches the viewers with the next {@link #commitStaged()}.
+     * Used by animations, so frames don't force a full {@link #update()}.
+     * @param slot the slot
+     * @param item the item
+     */
+    public void stageItem(int slot, @Nullable MenuItem item) {
+        this.data.setItem(slot, item);
+        if (stagedSlots == null) stagedSlots = new BitSet(size);
+        stagedSlots.set(slot);
+    }
+
+    /**
+     * Write the staged slots straight into the open inventories, the viewers only receive those slots.
+     */
+    public void commitStaged() {
+        if (stagedSlots == null || stagedSlots.isEmpty()) return;
+        for (int slot = stagedSlots.nextSetBit(0); slot >= 0; slot = stagedSlots.nextSetBit(slot + 1)) writeSlot(slot);
+        stagedSlots.clear();
+    }
+
+    /**
+     * Rewrite every slot holding the item into the open inventories, for example after a state value changed.
+     * @param item the item
+     * @return true if the menu holds the item
+     */
+    public boolean refreshItem(@NotNull MenuItem item) {
+        boolean held = false;
+        for (int slot = 0; slot < size; slot++) {
+            if (data.getItem(slot) != item) continue;
+            if (stagedSlots == null) stagedSlots = new BitSet(size);
+            stagedSlots.set(slot);
+            held = true;
+        }
+        commitStaged();
+        return held;
+    }
+
+    private void writeSlot(int slot) {
+        MenuItem item = data.getItem(slot);
+        if (item != null && item.hasStates()) {
+            item.trackMenu(this);
+            item.updateStates();
+        }
+        inventory.setItem(slot, item == null ? null : item.getItemStack());
+
+        if (views != null && !views.isEmpty()) {
+            for (Map.Entry<UUID, Inventory> entry : views.entrySet()) {
+                Player viewer = Bukkit.getPlayer(entry.getKey());
+                if (viewer != null) entry.getValue().setItem(slot, item == null ? null : item.renderFor(viewer));
+            }
+        }
+        if (localeViews != null && !localeViews.isEmpty()) {
+            for (Map.Entry<Locale, Inventory> entry : localeViews.entrySet()) {
+                entry.getValue().setItem(slot, item == null ? null : item.renderFor(entry.getKey()));
+            }
+        }
+    }
+
     public Optional<MenuItem> get(int i) {
         return Optional.ofNullable(data.getItem(i));
     }
 
+    public @Nullable MenuItem itemAt(int slot) {
+        return data.itemAt(slot);
+    }
+
+    public void forEachSlot(@NotNull IntObjConsumer<? super MenuItem> action) { data.forEachSlot(action); }
+
     public boolean hasItem(int slot) {
         return this.data.hasItem(slot);
     }
@@ -236,21 +422,180 @@ public class Menu implements IMenu, RandomAccess, Serializable {
 
     public void updateTitle(String title) { updateTitle(TextHolder.of(title)); }
 
+    /**
+     * Update the title, re-opening the menu for its viewers.
+     * <p>
+     * The items are kept as they are, and nothing is re-opened if the title text didn't change.
+     * If a title update interval is set, updates within the interval are coalesced and only the latest title is shown.
+     * @param title the new title
+     */
     public void updateTitle(TextHolder title) {
-        Inventory oldInventory = inventory, updatedInventory = copyInventory(type, title, this, rows);
+        boolean scheduled = pendingTitle != null;
+        pendingTitle = title;
+        if (scheduled) return;
+
+        long wait = lastTitleUpdate == 0 ? 0 : titleUpdateInterval - (System.nanoTime() - lastTitleUpdate);
+        if (wait <= 0) {
+            applyPendingTitle();
+            return;
+        }
+        // round up so the interval is never shorter than requested
+        SCHEDULER.runTaskLater(plugin, this::applyPendingTitle, (wait + 49_999_999) / 50_000_000);
+    }
+
+    /**
+     * Set the minimum time between two title changes, title updates within it are coalesced into the latest one.
+     * @param interval the interval, zero to change the title on every update
+     */
+    public void setTitleUpdateInterval(@NotNull Duration interval) {
+        if (interval.isNegative())
+            throw new IllegalArgumentException("Title update interval can't be negative" + "\nInterval: " + interval + "\nFix: Use zero or a positive duration");
+        this.titleUpdateInterval = interval.toNanos();
+    }
+
+    public @NotNull Duration getTitleUpdateInterval() { return Duration.ofNanos(titleUpdateInterval); }
+
+    private void applyPendingTitle() {
+        TextHolder title = pendingTitle;
+        pendingTitle = null;
+        if (title == null || title.toString().equals(this.title.toString())) return;
+
+        this.lastTitleUpdate = System.nanoTime();
+        this.title = title;
+        Inventory oldInventory = inventory, updatedInventory = copyInventory(type, title, this, size);
+        updatedInventory.setContents(oldInventory.getContents());
         this.inventory = updatedInventory;
-        updatePlayerInventories(oldInventory, player -> player.openInventory(updatedInventory));
+
+        this.updating = true;
+        for (HumanEntity viewer : new ArrayList<>(oldInventory.getViewers())) viewer.openInventory(updatedInventory);
+        updateViews(true);
+        this.updating = false;
     }
 
     private void updatePlayerInventories(@NotNull Inventory oldInventory, Consumer<HumanEntity> entityPredicate) {
         this.updating = true;
         data.recreateItems(inventory);
         oldInventory.getViewers().forEach(entityPredicate);
+        updateViews(false);
         this.updating = false;
     }
 
+    private void updateViews(boolean reopen) {
+        updateLocaleViews(reopen);
+        if (views == null || views.isEmpty()) return;
+        Iterator<Map.Entry<UUID, Inventory>> iterator = views.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Inventory> entry = iterator.next();
+            Player viewer = Bukkit.getPlayer(entry.getKey());
+            if (viewer == null || entry.getValue().getViewers().isEmpty()) {
+                iterator.remove();
+                continue;
+            }
+            if (reopen) {
+                Inventory view = copyInventory(type, titleFor(viewer), this, size);
+                view.setContents(entry.getValue().getContents());
+                entry.setValue(view);
+                viewer.openInventory(view);
+                continue;
+            }
+            data.renderFor(viewer, entry.getValue());
+            viewer.updateInventory();
+        }
+    }
+
+    private void updateLocaleViews(boolean reopen) {
+        if (localeViews == null || localeViews.isEmpty()) return;
+        Iterator<Map.Entry<Locale, Inventory>> iterator = localeViews.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Locale, Inventory> entry = iterator.next();
+            List<HumanEntity> viewers = new ArrayList<>(entry.getValue().getViewers());
+            if (viewers.isEmpty()) {
+                iterator.remove();
+                continue;
+            }
+            if (reopen) {
+                Inventory view = copyInventory(type, Translations.render(title, entry.getKey()), this, size);
+                view.setContents(entry.getValue().getContents());
+                entry.setValue(view);
+                for (HumanEntity viewer : viewers) viewer.openInventory(view);
+                continue;
+            }
+            data.renderFor(entry.getKey(), entry.getValue());
+            for (HumanEntity viewer : viewers) ((Player) viewer).updateInventory();
+        }
+    }
+
     public void open(@NotNull HumanEntity entity) {
-        if (!entity.isSleeping()) entity.openInventory(inventory);
+        if (!entity.isSleeping()) openView(entity);
+    }
+
+    /**
+     * Open the menu for the entity; viewers of a menu with viewer states get their own whole inventory
+     * (Bukkit can't show different items to the viewers of one inventory),
+     * and viewers of a translated menu share one inventory per locale.
+     * @param entity the entity
+     */
+    protected void openView(@NotNull HumanEntity entity) {
+        if (!(entity instanceof Player)) {
+            entity.openInventory(inventory);
+            return;
+        }
+
+        Player player = (Player) entity;
+        if (data.hasViewerStates()) {
+            if (views == null) views = new HashMap<>(4);
+            Inventory view = views.computeIfAbsent(player.getUniqueId(), uuid -> copyInventory(type, titleFor(player), this, size));
+            data.renderFor(player, view);
+            player.openInventory(view);
+            return;
+        }
+
+        if (!isTranslatable()) {
+            player.openInventory(inventory);
+            return;
+        }
+
+        if (localeViews == null) {
+            localeViews = new HashMap<>(4);
+            viewerLocales = new HashMap<>(4);
+        }
+        Locale locale = Translations.localeOf(player);
+        Inventory view = localeViews.computeIfAbsent(locale, this::createLocaleView);
+        viewerLocales.put(player.getUniqueId(), locale);
+        player.openInventory(view);
+    }
+
+    /**
+     * Checks if the title or any item contains translation tokens.
+     * @return true if the menu is rendered separately for every locale
+     * @see Translations
+     */
+    public boolean isTranslatable() {
+        return Translations.isTranslatable(title.toString()) || data.isTranslatable();
+    }
+
+    private @NotNull TextHolder titleFor(@NotNull Player viewer) {
+        return Translations.isTranslatable(title.toString()) ? Translations.render(title, Translations.localeOf(viewer)) : title;
+    }
+
+    private @NotNull Inventory createLocaleView(@NotNull Locale locale) {
+        Inventory view = copyInventory(type, Translations.render(title, locale), this, size);
+        data.renderFor(locale, view);
+        return view;
+    }
+
+    /**
+     * Drop the personalized inventory of the viewer, if any.
+     * @param viewer the viewer
+     */
+    void closeView(@NotNull HumanEntity viewer) {
+        if (views != null) views.remove(viewer.getUniqueId());
+        if (localeViews == null) return;
+        Locale locale = viewerLocales.remove(viewer.getUniqueId());
+        if (locale == null) return;
+        Inventory view = localeViews.get(locale);
+        // the closing viewer is still listed until the close event is over
+        if (view != null && view.getViewers().size() <= 1) localeViews.remove(locale);
     }
 
     public void close(@NotNull final HumanEntity player) {
@@ -297,6 +642,10 @@ public class Menu implements IMenu, RandomAccess, Serializable {
 
     public @NotNull @Unmodifiable List<MenuItem> getItemList() { return ImmutableList.copyOf(getItems()); }
 
+    public @NotNull @Unmodifiable List<MenuItem> itemView() { return data.view(); }
+
+    public @NotNull Spliterator<MenuItem> spliterator() { return data.spliterator(); }
+
     @Override
     public boolean hasAnimations() { return !animations.isEmpty(); }
 
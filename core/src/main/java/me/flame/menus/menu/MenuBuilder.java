@@ -7,6 +7,7 @@ import me.flame.menus.modifiers.Modifier;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Duration;
 import java.util.EnumSet;
 import java.util.List;
 
@@ -29,6 +30,10 @@ public class MenuBuilder {
 
     private MenuItem nextItem, previousItem;
 
+    private ClickLimiter clickLimiter;
+
+    private Duration titleUpdateInterval = Duration.ZERO;
+
     /**
      * Sets the title of the menu.
      *
@@ -129,11 +134,36 @@ public class MenuBuilder {
         return this;
     }
 
+    /**
+     * Limit how fast each player's clicks are handled in the menu.
+     *
+     * @param  clickLimiter  the limiter, or null to handle every click
+     * @return               the builder for chaining
+     */
+    public MenuBuilder clickLimiter(ClickLimiter clickLimiter) {
+        this.clickLimiter = clickLimiter;
+        return this;
+    }
+
+    /**
+     * Set the minimum time between two title changes; title updates within it are coalesced into the latest one.
+     *
+     * @param  interval  the interval, zero to change the title on every update
+     * @return           the builder for chaining
+     */
+    public MenuBuilder titleUpdateInterval(@NonNull Duration interval) {
+        this.titleUpdateInterval = interval;
+        return this;
+    }
+
     @NotNull
     @Contract(" -> new")
     public Menu normal() {
         checkRequirements(rows, title);
-        return type == MenuType.CHEST ? new Menu(rows, title, modifiers) : new Menu(type, title, modifiers);
+        Menu menu = type == MenuType.CHEST ? new Menu(rows, title, modifiers) : new Menu(type, title, modifiers);
+        menu.clickLimiter = clickLimiter;
+        menu.setTitleUpdateInterval(titleUpdateInterval);
+        return menu;
     }
 
     @NotNull
@@ -148,6 +178,8 @@ public class MenuBuilder {
         @NotNull List<ItemData> pages = menu.pages;
         if (nextItemSlot != -1 && nextItem != null) menu.setPageItem(nextItemSlot, nextItem);
         if (previousItemSlot != -1 && previousItem != null) menu.setPageItem(previousItemSlot, previousItem);
+        menu.clickLimiter = clickLimiter;
+        menu.setTitleUpdateInterval(titleUpdateInterval);
         return menu;
     }
 
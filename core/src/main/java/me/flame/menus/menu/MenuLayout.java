@@ -0,0 +1,131 @@
+package me.flame.menus.menu;
+
+import me.flame.menus.adventure.TextHolder;
+import me.flame.menus.items.MenuItem;
+
+import me.flame.menus.modifiers.Modifier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+
+/**
+ * A pattern compiled once by {@link MenuLayoutBuilder#pattern(String...)}, to create any number of menus from it.
+ * <p>
+ * The pattern is parsed and validated when it's compiled: every character is turned into the slots it's in,
+ * and the items are laid out into one array of the menu's size.
+ * Creating a menu from the layout then only copies that array into the new menu,
+ * so creating the same layout for every player costs about as much as creating an empty menu.
+ * <p>
+ * The items are looked up when the pattern is compiled, changing the item map afterwards doesn't change the layout.
+ * @since 3.0.0
+ */
+@SuppressWarnings("unused")
+public final class MenuLayout {
+    private static final int WIDTH = 9, MAX_ROWS = 6;
+
+    private final int rows;
+    private final char[] keys;
+    private final int[][] slots;
+    private final MenuItem[] contents;
+
+    private MenuLayout(int rows, char @NotNull [] keys, int @NotNull [][] slots, MenuItem @NotNull [] contents) {
+        this.rows = rows;
+        this.keys = keys;
+        this.slots = slots;
+        this.contents = contents;
+    }
+
+    /**
+     * Compile the pattern with the items.
+     * @param itemMap the item of every character, characters without an item are left empty
+     * @param patterns one string of 9 characters per row
+     * @return the layout
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    static MenuLayout compile(@NotNull Map<Character, MenuItem> itemMap, String @NotNull ... patterns) {
+        int rows = patterns.length;
+        if (rows < 1 || rows > MAX_ROWS)
+            throw new IllegalArgumentException("Patterns array has " + rows + " rows" + "\nFix: Use 1 to " + MAX_ROWS + " strings in pattern()");
+
+        int size = rows * WIDTH;
+        MenuItem[] contents = new MenuItem[size];
+        char[] keys = new char[size];
+        int[] counts = new int[size];
+        int keyCount = 0;
+
+        char[] characters = new char[size];
+        for (int row = 0; row < rows; row++) {
+            String pattern = patterns[row];
+            if (pattern == null || pattern.length() != WIDTH)
+                throw new IllegalArgumentException("Pattern row " + (row + 1) + " isn't " + WIDTH + " characters long" + "\nRow: \"" + pattern + "\"" + "\nFix: Make every string in pattern() exactly " + WIDTH + " characters, use spaces for empty slots");
+            pattern.getChars(0, WIDTH, characters, row * WIDTH);
+        }
+
+        for (int slot = 0; slot < size; slot++) {
+            char character = characters[slot];
+            int key = indexOf(keys, keyCount, character);
+            if (key == -1) keys[key = keyCount++] = character;
+            counts[key]++;
+            contents[slot] = itemMap.get(character);
+        }
+
+        int[][] slots = new int[keyCount][];
+        for (int key = 0; key < keyCount; key++) slots[key] = new int[counts[key]];
+        Arrays.fill(counts, 0);
+        for (int slot = 0; slot < size; slot++) {
+            int key = indexOf(keys, keyCount, characters[slot]);
+            slots[key][counts[key]++] = slot;
+        }
+        return new MenuLayout(rows, Arrays.copyOf(keys, keyCount), slots, contents);
+    }
+
+    private static int indexOf(char @NotNull [] keys, int count, char key) {
+        for (int index = 0; index < count; index++) if (keys[index] == key) return index;
+        return -1;
+    }
+
+    public int rows() { return rows; }
+
+    /**
+     * Get the slots a character of the pattern is in.
+     * @param character the character
+     * @return a copy of the slots, empty if the pattern doesn't have the character
+     */
+    public int @NotNull [] slotsOf(char character) {
+        int key = indexOf(keys, keys.length, character);
+        return key == -1 ? new int[0] : slots[key].clone();
+    }
+
+    /**
+     * Create a menu of this layout.
+     * @param title the title of the menu
+     * @param modifiers the modifiers of the menu
+     * @return the created menu
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public Menu createMenu(@NotNull TextHolder title, @NotNull EnumSet<Modifier> modifiers) {
+        Menu menu = new Menu(rows, title, modifiers);
+        menu.stampLayout(contents);
+        return menu;
+    }
+
+    /**
+     * Create a paginated menu of this layout, the layout is put in the first page.
+     * @param title the title of the menu
+     * @param pages the number of pages
+     * @param modifiers the modifiers of the menu
+     * @return the created paginated menu
+     */
+    @NotNull
+    @Contract("_, _, _ -> new")
+    public PaginatedMenu createPaginated(@NotNull TextHolder title, int pages, @NotNull EnumSet<Modifier> modifiers) {
+        PaginatedMenu menu = new PaginatedMenu(rows, pages, title, modifiers, null, null, -1, -1);
+        menu.stampLayout(contents);
+        return menu;
+    }
+}
@@ -30,6 +30,8 @@ import java.util.Map;
  *                  )
  *                  .createMenu("Awesome");
  * }</pre>
+ * The pattern is compiled into a {@link MenuLayout} once, when {@link #pattern(String...)} is called,
+ * so every menu created afterwards is only a copy of the compiled layout.
  * @author FlameyosFlow
  * @since 1.2.0, 100% Stabilized at 1.5.7
  */
@@ -38,31 +40,32 @@ public final class MenuLayoutBuilder {
     @NotNull
     private final Map<Character, MenuItem> itemMap;
 
-    @NotNull
-    private String[] patterns;
-
-    private int rows;
+    private MenuLayout layout;
 
     MenuLayoutBuilder(@NotNull Map<Character, MenuItem> itemMap) {
         this.itemMap = itemMap;
-        this.patterns = null;
-        this.rows = 0;
+        this.layout = null;
     }
 
+    /**
+     * Compile the pattern, one string of 9 characters per row.
+     * @param patterns the rows of the menu
+     * @return this builder
+     * @throws IllegalArgumentException if there aren't 1 to 6 rows or a row isn't 9 characters long
+     */
     public MenuLayoutBuilder pattern(String @NotNull... patterns) {
-        this.patterns = patterns;
-        this.rows = patterns.length;
+        this.layout = MenuLayout.compile(itemMap, patterns);
         return this;
     }
 
-    private void addItems(IMenu menu) {
-        int size = rows * 9;
-        for (int i = 0; i < size; i++) {
-            int row = i / 9, col = i % 9;
-
-            MenuItem menuItem = itemMap.get(patterns[row].charAt(col));
-            if (menuItem != null) menu.setItem(i, menuItem);
-        }
+    /**
+     * Get the compiled layout, to keep and create menus from without the builder.
+     * @return the layout
+     */
+    public @NotNull MenuLayout layout() {
+        if (layout == null)
+            throw new IllegalStateException("No patterns specified. \nFix: use the pattern() method before creating the menu.");
+        return layout;
     }
 
     /**
@@ -123,13 +126,7 @@ public final class MenuLayoutBuilder {
      * @return        the created menu
      */
     public @NotNull Menu createMenu(TextHolder title) {
-        if (patterns == null)
-            throw new IllegalStateException("No patterns specified. \nFix: use the pattern() method before creating the menu.");
-        else if (rows > 6 || rows < 1)
-            throw new IllegalStateException("Patterns array has too many rows (" + rows + "). \nFix: Reduce/increase the amount of strings in the array of pattern()");
-        Menu menu = new Menu(rows, title, EnumSet.noneOf(Modifier.class));
-        addItems(menu);
-        return menu;
+        return layout().createMenu(title, EnumSet.noneOf(Modifier.class));
     }
 
     /**
@@ -139,13 +136,7 @@ public final class MenuLayoutBuilder {
      * @return        the created menu
      */
     public Menu createMenu(TextHolder title, EnumSet<Modifier> modifiers) {
-        if (patterns == null)
-            throw new IllegalStateException("No patterns specified. \nFix: use the pattern() method before creating the menu.");
-        else if (rows > 6 || rows < 1)
-            throw new IllegalStateException("Patterns array has too many rows (" + rows + "). \nFix: Reduce/increase the amount of strings in the array of pattern()");
-        Menu menu = new Menu(rows, title, modifiers);
-        addItems(menu);
-        return menu;
+        return layout().createMenu(title, modifiers);
     }
 
     /**
@@ -156,13 +147,7 @@ public final class MenuLayoutBuilder {
      * @return        the created paginated menu
      */
     public PaginatedMenu createPaginated(TextHolder title, int pages) {
-        if (patterns == null)
-            throw new IllegalStateException("No patterns specified. \nFix: use the pattern() method before creating the menu.");
-        else if (rows > 6 || rows < 1)
-            throw new IllegalStateException("Patterns array has too many rows (" + rows + "). \nFix: Reduce/increase the amount of strings in the array of pattern()");
-        PaginatedMenu menu = PaginatedMenu.create(title, rows, pages);
-        addItems(menu);
-        return menu;
+        return layout().createPaginated(title, pages, EnumSet.noneOf(Modifier.class));
     }
 
     /**
@@ -173,13 +158,7 @@ public final class MenuLayoutBuilder {
      * @return        the created paginated menu
      */
     public PaginatedMenu createPaginated(TextHolder title, int pages, EnumSet<Modifier> modifiers) {
-        if (patterns == null)
-            throw new IllegalStateException("No patterns specified. \nFix: use the pattern() method before creating the menu.");
-        else if (rows > 6 || rows < 1)
-            throw new IllegalStateException("Patterns array has too many rows (" + rows + "). \nFix: Reduce/increase the amount of strings in the array of pattern()");
-        PaginatedMenu menu = PaginatedMenu.create(title, rows, pages, modifiers);
-        addItems(menu);
-        return menu;
+        return layout().createPaginated(title, pages, modifiers);
     }
 
     /**
@@ -188,12 +167,6 @@ public final class MenuLayoutBuilder {
      * @return        the created paginated menu
      */
     public PaginatedMenu createPaginated(TextHolder title) {
-        if (patterns == null)
-            throw new IllegalStateException("No patterns specified. \nFix: use the pattern() method before creating the menu.");
-        else if (rows > 6 || rows < 1)
-            throw new IllegalStateException("Patterns array has too many rows (" + rows + "). \nFix: Reduce/increase the amount of strings in the array of pattern()");
-        PaginatedMenu menu = PaginatedMenu.create(title, rows, 3);
-        addItems(menu);
-        return menu;
+        return layout().createPaginated(title, 3, EnumSet.noneOf(Modifier.class));
     }
 }
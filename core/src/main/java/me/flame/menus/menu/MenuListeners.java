@@ -12,6 +12,7 @@ import org.bukkit.event.Event;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.*;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.InventoryView;
@@ -20,7 +21,6 @@ import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.EnumSet;
-import java.util.Optional;
 
 @AllArgsConstructor
 public final class MenuListeners implements Listener {
@@ -55,6 +55,8 @@ public final class MenuListeners implements Listener {
 
     private final Plugin plugin;
 
+    private final PlayerIndex playerIndex = new PlayerIndex();
+
     private static final InventoryType PLAYER = InventoryType.PLAYER;
     private static final InventoryAction OTHER_INV = InventoryAction.MOVE_TO_OTHER_INVENTORY;
 
@@ -68,6 +70,15 @@ public final class MenuListeners implements Listener {
         Inventory clickedInventory = event.getClickedInventory();
         Menu menu = ((Menu) holder);
 
+        ClickLimiter limiter = menu.clickLimiter;
+        if (limiter != null) {
+            int index = playerIndex.indexOf(event.getWhoClicked().getUniqueId());
+            if (!limiter.tryAcquire(index, playerIndex.generationOf(index))) {
+                event.setResult(Event.Result.DENY);
+                return;
+            }
+        }
+
         if (clickedInventory == null) {
             menu.outsideClickAction.accept(event);
             return;
@@ -97,10 +108,18 @@ public final class MenuListeners implements Listener {
             Menu.SCHEDULER.runTaskLater(plugin, () -> menu.open(event.getPlayer()), 1);
             return;
         }
-        if (menu.hasAnimationsStarted && inventory.getViewers().isEmpty()) {
-            menu.animations.forEach(Animation::stop);
-            menu.hasAnimationsStarted = false;
-        }
+        if (menu.updating) return;
+        // checked before the view is dropped: until then the closing player is still one of the viewers
+        boolean lastViewer = menu.getViewers().size() <= 1;
+        menu.closeView(event.getPlayer());
+        int cancelled = menu.cancelAsync(event.getPlayer());
+        if (cancelled != 0) plugin.getLogger().fine(() -> "Skipped " + cancelled + " async click task(s) of " + event.getPlayer().getName());
+        if (menu.hasAnimationsStarted && lastViewer) menu.animations.forEach(Animation::pause);
+    }
+
+    @EventHandler
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        playerIndex.release(event.getPlayer().getUniqueId());
     }
 
     @EventHandler
@@ -128,7 +147,11 @@ public final class MenuListeners implements Listener {
     }
 
     private static void checkAnimations(@NotNull InventoryOpenEvent event, @NotNull Menu menu) {
-        if (menu.hasAnimations() && !menu.hasAnimationsStarted) {
+        if (menu.hasAnimationsStarted) {
+            menu.animations.forEach(Animation::resume);
+            return;
+        }
+        if (menu.hasAnimations()) {
             BeforeAnimatingEvent animatingEvent = new BeforeAnimatingEvent((Player) event.getPlayer(), menu);
             menu.onAnimate.accept(animatingEvent);
             if (animatingEvent.isCancelled()) return;
@@ -189,15 +212,15 @@ public final class MenuListeners implements Listener {
                 if (done) return;
             }
         }
-        Optional<MenuItem> menuItem;
-        if (it == null || (menuItem = menu.get(slot)).isEmpty()) return;
-        MenuItem item = menuItem.get();
+        if (it == null) return;
+        MenuItem item = menu.itemAt(slot);
+        if (item == null) return;
 
         final String nbt = ItemNbt.getString(it, "woody-menu");
         if (nbt == null || !nbt.equals(item.getUniqueId().toString())) return;
 
         if (item.isOnCooldown(player)) return;
-        item.click(player, actionEvent);
+        menu.click(player, item, actionEvent);
     }
 
     @SuppressWarnings("UnusedReturnValue")
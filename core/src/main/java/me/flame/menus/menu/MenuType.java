@@ -2,25 +2,88 @@ package me.flame.menus.menu;
 
 import org.bukkit.event.inventory.InventoryType;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.io.Serializable;
 
+/**
+ * The type of menu, with the grid of its slots.
+ * <p>
+ * Every type lays out its slots as a grid of {@code width} columns and {@code height} rows (a chest has as many rows as it's created with),
+ * and its special slots, like the result slot of a workbench or the fuel slot of a furnace, are outside the grid.
+ * The slot of every grid cell is computed once per type, so geometry code never does slot arithmetic for a type.
+ */
 @Getter
 public enum MenuType implements Serializable {
-    CHEST(InventoryType.CHEST, 9),
-    FURNACE(InventoryType.FURNACE, 3),
-    WORKBENCH(InventoryType.WORKBENCH, 9),
-    HOPPER(InventoryType.HOPPER, 5),
-    ANVIL(InventoryType.ANVIL, 3),
-    DISPENSER(InventoryType.DISPENSER, 8),
-    BREWING(InventoryType.BREWING, 4);
+    CHEST(InventoryType.CHEST, 9, 9, 6),
+    FURNACE(InventoryType.FURNACE, 3, 1, 1, 1, 2),
+    WORKBENCH(InventoryType.WORKBENCH, 10, 3, 3, 0),
+    HOPPER(InventoryType.HOPPER, 5, 5, 1),
+    ANVIL(InventoryType.ANVIL, 3, 2, 1, 2),
+    DISPENSER(InventoryType.DISPENSER, 9, 3, 3),
+    BREWING(InventoryType.BREWING, 5, 3, 1, 3, 4);
 
     private final InventoryType type;
     private final int limit;
+    private final int width, height;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] specialSlots, gridSlots;
 
-    MenuType(InventoryType type, int limit) {
+    MenuType(InventoryType type, int limit, int width, int height, int... specialSlots) {
         this.type = type;
         this.limit = limit;
+        this.width = width;
+        this.height = height;
+        this.specialSlots = specialSlots;
+        this.gridSlots = new int[width * height];
+
+        // the grid is made of the slots that aren't special, in order
+        for (int slot = 0, cell = 0; cell < gridSlots.length; slot++) {
+            if (!contains(specialSlots, slot)) gridSlots[cell++] = slot;
+        }
+    }
+
+    /**
+     * Get the slots outside the grid, like result and fuel slots.
+     * @return a copy of the special slots
+     */
+    public int @NotNull [] getSpecialSlots() { return specialSlots.clone(); }
+
+    public boolean isSpecialSlot(int slot) { return contains(specialSlots, slot); }
+
+    /**
+     * Get how many cells the grid of a menu of this type has.
+     * @param rows the rows of the menu, only used by chests
+     * @return the amount of grid cells
+     */
+    public int gridSize(int rows) {
+        return this == CHEST ? Math.max(0, Math.min(rows, height)) * width : gridSlots.length;
+    }
+
+    /**
+     * Get the slot of a grid cell.
+     * @param cell the index of the cell, row by row
+     * @return the slot
+     */
+    public int gridSlot(int cell) { return gridSlots[cell]; }
+
+    /**
+     * Get the slot at a row and column of the grid.
+     * @param row the row, starting at 1
+     * @param column the column, starting at 1
+     * @return the slot, or -1 if the grid has no such cell
+     */
+    public int slotAt(int row, int column) {
+        if (row < 1 || row > height || column < 1 || column > width) return -1;
+        return gridSlots[(row - 1) * width + column - 1];
+    }
+
+    private static boolean contains(int @NotNull [] slots, int slot) {
+        for (int special : slots) if (special == slot) return true;
+        return false;
     }
 }
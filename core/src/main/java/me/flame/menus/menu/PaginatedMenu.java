@@ -145,7 +145,7 @@ public final class PaginatedMenu extends Menu implements Pagination {
 
         this.pageNumber = openPage;
         this.data = pages.get(openPage);
-        player.openInventory(inventory);
+        openView(player);
     }
 
     /**
@@ -0,0 +1,64 @@
+package me.flame.menus.menu;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hands out dense integer indices to online players, so per-player state can live in primitive arrays.
+ * <p>
+ * An index is assigned on first use and returned to the pool when the player quits,
+ * so the highest index stays close to the peak number of online players.
+ * Every time an index is returned its generation goes up, so per-player state can tell
+ * a recycled index apart from the player that had it before (see {@link #generationOf(int)}).
+ * @since 3.0.0
+ */
+final class PlayerIndex {
+    private final Map<UUID, Index> indices = new HashMap<>();
+    private int[] freeIndices = new int[16];
+    private int[] generations = new int[16];
+    private int freeCount = 0, nextIndex = 0;
+
+    /**
+     * The index of one player, allocated once per session so looking it up doesn't box.
+     */
+    private static final class Index {
+        final int value;
+
+        Index(int value) {
+            this.value = value;
+        }
+    }
+
+    int indexOf(@NotNull UUID uuid) {
+        Index index = indices.get(uuid);
+        if (index != null) return index.value;
+
+        int newIndex = freeCount == 0 ? nextIndex++ : freeIndices[--freeCount];
+        indices.put(uuid, new Index(newIndex));
+        return newIndex;
+    }
+
+    /**
+     * Get the generation of the index, which changes every time the index is handed to another player.
+     * @param index the index
+     * @return the generation
+     */
+    int generationOf(int index) {
+        int[] generations = this.generations;
+        return index < generations.length ? generations[index] : 0;
+    }
+
+    void release(@NotNull UUID uuid) {
+        Index index = indices.remove(uuid);
+        if (index == null) return;
+        int value = index.value;
+        if (value >= generations.length) generations = Arrays.copyOf(generations, Math.max(value + 1, generations.length << 1));
+        generations[value]++;
+        if (freeCount == freeIndices.length) freeIndices = Arrays.copyOf(freeIndices, freeCount << 1);
+        freeIndices[freeCount++] = value;
+    }
+}
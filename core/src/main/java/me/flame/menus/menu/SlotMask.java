@@ -0,0 +1,284 @@
+package me.flame.menus.menu;
+
+import me.flame.menus.menu.fillers.Filler;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable set of slots of a menu, stored as the bits of a single {@code long} since menus have at most 54 slots.
+ * <p>
+ * The common shapes (every slot, the border, rows, columns and sides) are computed once per ({@link MenuType}, rows)
+ * and cached, so fillers don't do any slot arithmetic per slot, per call or per page.
+ * Rows, columns, sides, borders and rectangles follow the grid of the type (see {@link MenuType#getWidth()}),
+ * so a hopper's row is its 5 slots and a dispenser's border is the 8 slots around its middle;
+ * special slots, like a furnace's fuel and result slots, are only part of {@link #all(MenuType, int)}.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ *     SlotMask frame = SlotMask.border(MenuType.CHEST, 6).union(SlotMask.row(MenuType.CHEST, 6, 3));
+ *     menu.setItems(frame, item);
+ * }</pre>
+ * @since 3.0.0
+ */
+@SuppressWarnings("unused")
+public final class SlotMask {
+    public static final SlotMask EMPTY = new SlotMask(0L);
+
+    private static final int MAX_SLOTS = Long.SIZE, MAX_ROWS = 6;
+
+    private static final Geometry[][] geometries = new Geometry[MenuType.values().length][MAX_ROWS + 1];
+
+    private final long bits;
+
+    private SlotMask(long bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Create a mask of the slots.
+     * @param slots the slots
+     * @return the mask
+     */
+    @NotNull
+    public static SlotMask of(int @NotNull ... slots) {
+        long bits = 0;
+        for (int slot : slots) bits |= bit(slot);
+        return bits == 0 ? EMPTY : new SlotMask(bits);
+    }
+
+    /**
+     * Get the mask of every slot of the menu.
+     * @param type the type of the menu
+     * @param rows the rows of the menu, only used by chests
+     * @return the mask
+     */
+    @NotNull
+    public static SlotMask all(@NotNull MenuType type, int rows) {
+        return geometry(type, rows).all;
+    }
+
+    /**
+     * Get the mask of the border of the menu: the first and last row and column.
+     * @param type the type of the menu
+     * @param rows the rows of the menu, only used by chests
+     * @return the mask
+     */
+    @NotNull
+    public static SlotMask border(@NotNull MenuType type, int rows) {
+        return geometry(type, rows).border;
+    }
+
+    /**
+     * Get the mask of a row of the menu.
+     * @param type the type of the menu
+     * @param rows the rows of the menu, only used by chests
+     * @param row the row, starting at 1
+     * @return the mask, or {@link #EMPTY} if the menu has no such row
+     */
+    @NotNull
+    public static SlotMask row(@NotNull MenuType type, int rows, int row) {
+        SlotMask[] masks = geometry(type, rows).rows;
+        return row < 1 || row > masks.length ? EMPTY : masks[row - 1];
+    }
+
+    /**
+     * Get the mask of a column of the menu.
+     * @param type the type of the menu
+     * @param rows the rows of the menu, only used by chests
+     * @param column the column, starting at 1
+     * @return the mask, or {@link #EMPTY} if the menu has no such column
+     */
+    @NotNull
+    public static SlotMask column(@NotNull MenuType type, int rows, int column) {
+        SlotMask[] masks = geometry(type, rows).columns;
+        return column < 1 || column > masks.length ? EMPTY : masks[column - 1];
+    }
+
+    /**
+     * Get the mask of a side of the menu.
+     * @param type the type of the menu
+     * @param rows the rows of the menu, only used by chests
+     * @param side the side
+     * @return the mask
+     */
+    @NotNull
+    public static SlotMask side(@NotNull MenuType type, int rows, @NotNull Filler.Side side) {
+        return geometry(type, rows).sides.get(side);
+    }
+
+    /**
+     * Get the mask of a rectangle of the menu, clipped to the menu.
+     * @param type the type of the menu
+     * @param rows the rows of the menu, only used by chests
+     * @param fromRow the first row, starting at 1
+     * @param fromColumn the first column, starting at 1
+     * @param toRow the last row, inclusive
+     * @param toColumn the last column, inclusive
+     * @return the mask
+     */
+    @NotNull
+    public static SlotMask rectangle(@NotNull MenuType type, int rows, int fromRow, int fromColumn, int toRow, int toColumn) {
+        Geometry geometry = geometry(type, rows);
+        long bits = 0;
+        for (int row = Math.max(1, fromRow), lastRow = Math.min(toRow, geometry.rows.length); row <= lastRow; row++) {
+            for (int column = Math.max(1, fromColumn), lastColumn = Math.min(toColumn, geometry.columns.length); column <= lastColumn; column++) {
+                bits |= 1L << type.slotAt(row, column);
+            }
+        }
+        return new SlotMask(bits);
+    }
+
+    /**
+     * Get the mask of the area filled by {@code MenuFiller#fillArea}:
+     * {@code length / gridWidth} rows and {@code width} columns from the top left slot.
+     * @param type the type of the menu
+     * @param rows the rows of the menu, only used by chests
+     * @param length the length, in slots
+     * @param width the width, in columns
+     * @return the mask
+     */
+    @NotNull
+    public static SlotMask area(@NotNull MenuType type, int rows, int length, int width) {
+        return rectangle(type, rows, 1, 1, length / type.getWidth(), width);
+    }
+
+    private static @NotNull Geometry geometry(@NotNull MenuType type, int rows) {
+        int row = type == MenuType.CHEST ? Math.max(1, Math.min(rows, MAX_ROWS)) : 0;
+        Geometry[] byRows = geometries[type.ordinal()];
+        Geometry geometry = byRows[row];
+        // racing threads build equal immutable geometries, so whichever is kept doesn't matter
+        if (geometry == null) byRows[row] = geometry = new Geometry(type, row);
+        return geometry;
+    }
+
+    private static long bit(int slot) {
+        if (slot < 0 || slot >= MAX_SLOTS)
+            throw new IllegalArgumentException("Slot out of range" + "\nSlot: " + slot + "\nFix: Use a slot between 0 and " + (MAX_SLOTS - 1));
+        return 1L << slot;
+    }
+
+    @Contract(pure = true)
+    public @NotNull SlotMask union(@NotNull SlotMask other) {
+        long union = bits | other.bits;
+        return union == bits ? this : new SlotMask(union);
+    }
+
+    @Contract(pure = true)
+    public @NotNull SlotMask intersect(@NotNull SlotMask other) {
+        long intersection = bits & other.bits;
+        return intersection == bits ? this : new SlotMask(intersection);
+    }
+
+    @Contract(pure = true)
+    public @NotNull SlotMask minus(@NotNull SlotMask other) {
+        long difference = bits & ~other.bits;
+        return difference == bits ? this : new SlotMask(difference);
+    }
+
+    /**
+     * Get the slots of the menu that aren't in this mask.
+     * @param all the mask of every slot of the menu, see {@link #all(MenuType, int)}
+     * @return the complement of this mask
+     */
+    @Contract(pure = true)
+    public @NotNull SlotMask complement(@NotNull SlotMask all) {
+        return all.minus(this);
+    }
+
+    public boolean contains(int slot) {
+        return slot >= 0 && slot < MAX_SLOTS && (bits & (1L << slot)) != 0;
+    }
+
+    public boolean isEmpty() { return bits == 0; }
+
+    /**
+     * Get how many slots are in the mask.
+     * @return the number of slots
+     */
+    public int size() { return Long.bitCount(bits); }
+
+    /**
+     * Get the first slot of the mask at or after the slot, to iterate the mask without allocating:
+     * <pre>{@code
+     *     for (int slot = mask.nextSlot(0); slot != -1; slot = mask.nextSlot(slot + 1)) ...
+     * }</pre>
+     * @param from the slot to start at
+     * @return the slot, or -1 if there's none
+     */
+    public int nextSlot(int from) {
+        if (from >= MAX_SLOTS) return -1;
+        long remaining = bits & (-1L << Math.max(0, from));
+        return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+    }
+
+    public void forEach(@NotNull IntConsumer action) {
+        for (long remaining = bits; remaining != 0; remaining &= remaining - 1) action.accept(Long.numberOfTrailingZeros(remaining));
+    }
+
+    public int @NotNull [] toArray() {
+        int[] slots = new int[size()];
+        int index = 0;
+        for (long remaining = bits; remaining != 0; remaining &= remaining - 1) slots[index++] = Long.numberOfTrailingZeros(remaining);
+        return slots;
+    }
+
+    public long bits() { return bits; }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SlotMask && ((SlotMask) other).bits == bits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return "SlotMask" + Arrays.toString(toArray());
+    }
+
+    /**
+     * The cached shapes of one ({@link MenuType}, rows).
+     */
+    private static final class Geometry {
+        final SlotMask all, border;
+        final SlotMask[] rows, columns;
+        final Map<Filler.Side, SlotMask> sides = new EnumMap<>(Filler.Side.class);
+
+        Geometry(@NotNull MenuType type, int chestRows) {
+            int width = type.getWidth(), height = type.gridSize(chestRows) / width;
+            int size = type == MenuType.CHEST ? height * width : type.getLimit();
+            this.all = new SlotMask(size >= MAX_SLOTS ? -1L : (1L << size) - 1);
+
+            this.rows = new SlotMask[height];
+            for (int row = 0; row < height; row++) {
+                long bits = 0;
+                for (int column = 0; column < width; column++) bits |= 1L << type.gridSlot(row * width + column);
+                rows[row] = new SlotMask(bits);
+            }
+
+            this.columns = new SlotMask[width];
+            for (int column = 0; column < width; column++) {
+                long bits = 0;
+                for (int row = 0; row < height; row++) bits |= 1L << type.gridSlot(row * width + column);
+                columns[column] = new SlotMask(bits);
+            }
+
+            SlotMask top = rows[0], bottom = rows[height - 1], left = columns[0], right = columns[width - 1];
+            this.border = top.union(bottom).union(left).union(right);
+            sides.put(Filler.Side.TOP, top);
+            sides.put(Filler.Side.BOTTOM, bottom);
+            sides.put(Filler.Side.LEFT, left);
+            sides.put(Filler.Side.RIGHT, right);
+            sides.put(Filler.Side.LEFT_RIGHT, left.union(right));
+        }
+    }
+}
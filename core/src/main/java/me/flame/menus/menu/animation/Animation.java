@@ -4,23 +4,15 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 
 import me.flame.menus.menu.Menu;
 import me.flame.menus.menu.animation.variants.NormalAnimation;
+import me.flame.menus.menu.animation.variants.ProceduralAnimation;
 import me.flame.menus.menu.animation.variants.RepeatedAnimation;
-import org.bukkit.plugin.Plugin;
 
-import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-
 /**
- * Animations in Woody are highly dependent on bukkit scheduler. shout out to bukkit
+ * Animations in Woody are driven by a single {@link AnimationEngine} tick task.
  * <p>
  * Example usage:
  * <pre>{@code
@@ -35,6 +27,8 @@ import java.util.concurrent.ConcurrentMap;
  *                                .type(Type.REPEATED)
  *                                .build());
  * }</pre>
+ * Frames are played as deltas, only the slots that change from one frame to the next are set,
+ * so the animated slots shouldn't be changed by anything else while the animation runs.
  * @author FlameyosFlow
  * @since 1.5.0, 100% Stabilized at 2.0.0
  */
@@ -43,18 +37,22 @@ public abstract class Animation {
     protected int frameIndex;
     protected final int delay;
     protected final Menu menu;
-    protected ConcurrentMap<Integer, Frame> frames;
-    protected AnimationScheduler scheduler;
-    private static final Plugin plugin = JavaPlugin.getProvidingPlugin(Animation.class);
+    protected final Frame[] frames;
+
+    /**
+     * Bookkeeping of the {@link AnimationEngine}: the index in its active array, or -1 if not running,
+     * and the ticks left until the next frame.
+     */
+    int engineIndex = -1, countdown;
+
+    private boolean paused = false;
+    long renderedFrames = 0, skippedFrames = 0;
 
     public Animation(int delay, Frame[] frames, Menu menu) {
         this.menu = menu;
-        this.delay = delay;
+        this.delay = Math.max(1, delay);
         this.frameIndex = 0;
-
-        int length = frames.length;
-        this.frames = new ConcurrentHashMap<>(length);
-        for (int frame = 0; frame < length; frame++) this.frames.put(frame, frames[frame]);
+        this.frames = Frame.toDeltas(frames);
     }
 
 
@@ -64,12 +62,9 @@ public abstract class Animation {
 
     @Nullable
     public Frame next() {
-        if (frames.size() == frameIndex) return this.onFinish();
-        Frame frame = frames.get(frameIndex);
-        if (frame != null) {
-            frameIndex++;
-            frame.start();
-        }
+        if (frames.length == frameIndex) return this.onFinish();
+        Frame frame = frames[frameIndex++];
+        if (frame != null) frame.start();
         return frame;
     }
 
@@ -77,13 +72,64 @@ public abstract class Animation {
     @Contract(pure = true)
     public Frame start() {
         frameIndex = 0;
-        this.scheduler = new AnimationScheduler(this, delay);
-        return frames.get(frameIndex);
+        AnimationEngine.get().add(this);
+        return frames.length == 0 ? null : frames[0];
     }
 
     public void stop() {
-        if (this.scheduler != null && !this.scheduler.isCancelled()) this.scheduler.cancel();
-        Optional.of(frames.get(0)).ifPresent(Frame::reset);
+        paused = false;
+        AnimationEngine.get().remove(this);
+        if (frames.length != 0 && frames[0] != null) frames[0].reset();
+    }
+
+    /**
+     * Stop playing frames but keep the position in the animation, for example while nobody views the menu.
+     */
+    public void pause() {
+        if (!isRunning()) return;
+        paused = true;
+        AnimationEngine.get().remove(this);
+    }
+
+    /**
+     * Continue a paused animation from where it was paused.
+     */
+    public void resume() {
+        if (!paused) return;
+        paused = false;
+        AnimationEngine.get().add(this);
+    }
+
+    public boolean isPaused() { return paused; }
+
+    /**
+     * Move past the next frame without playing it, used by the {@link AnimationEngine} when the server is lagging.
+     * The frame's items are still put in the menu, so the frames after it stay correct.
+     */
+    protected void skip() {
+        if (frameIndex >= frames.length) return;
+        Frame frame = frames[frameIndex++];
+        if (frame != null) frame.apply(menu);
+    }
+
+    /**
+     * Get how many frames were played.
+     * @return the number of played frames
+     */
+    public long getRenderedFrames() { return renderedFrames; }
+
+    /**
+     * Get how many frames were skipped because the server was lagging.
+     * @return the number of skipped frames
+     */
+    public long getSkippedFrames() { return skippedFrames; }
+
+    /**
+     * Checks if the animation is driven by the {@link AnimationEngine}.
+     * @return true if the animation is running
+     */
+    public boolean isRunning() {
+        return engineIndex != -1;
     }
 
     @CanIgnoreReturnValue
@@ -105,9 +151,12 @@ public abstract class Animation {
 
     public static class Builder {
         private Frame[] frames;
-        private int delay;
+        private int delay, length;
         private final Menu menu;
         private Type type;
+        private ProceduralAnimation.SlotGenerator slotGenerator;
+        private ProceduralAnimation.FrameGenerator frameGenerator;
+        private int[] slots;
 
         Builder(Menu menu) {
             this.menu = menu;
@@ -128,23 +177,44 @@ public abstract class Animation {
             return this;
         }
 
-        public Animation build() {
-            return type == Type.NORMAL ? new NormalAnimation(delay, frames, menu) : new RepeatedAnimation(delay, frames, menu);
+        /**
+         * Generate the item of every animated slot when a frame is played, instead of building frames up front.
+         * @param generator generates the item of a slot for a frame
+         * @param slots the animated slots
+         * @return the builder for chaining
+         */
+        public Builder procedural(ProceduralAnimation.SlotGenerator generator, int... slots) {
+            this.slotGenerator = generator;
+            this.frameGenerator = null;
+            this.slots = slots;
+            return this;
         }
-    }
 
-    public static class AnimationScheduler extends BukkitRunnable {
-        private final Animation scheduledAnimation;
+        /**
+         * Generate the changed slots of every frame when it's played, instead of building frames up front.
+         * @param generator generates the changes of a frame
+         * @return the builder for chaining
+         */
+        public Builder procedural(ProceduralAnimation.FrameGenerator generator) {
+            this.frameGenerator = generator;
+            this.slotGenerator = null;
+            return this;
+        }
 
-        public AnimationScheduler(@NotNull Animation scheduledAnimation, int delay) {
-            this.scheduledAnimation = scheduledAnimation;
-            this.runTaskTimer(plugin, delay, delay);
+        /**
+         * Set the amount of frames of a procedural animation, by default it runs until it's stopped.
+         * @param length the amount of frames
+         * @return the builder for chaining
+         */
+        public Builder length(int length) {
+            this.length = length;
+            return this;
         }
 
-        @Override
-        public void run() {
-            Frame frame = scheduledAnimation.next();
-            if (frame == null) this.cancel();
+        public Animation build() {
+            if (slotGenerator != null) return new ProceduralAnimation(delay, menu, slotGenerator, slots, length, type != Type.NORMAL);
+            if (frameGenerator != null) return new ProceduralAnimation(delay, menu, frameGenerator, length, type != Type.NORMAL);
+            return type == Type.NORMAL ? new NormalAnimation(delay, frames, menu) : new RepeatedAnimation(delay, frames, menu);
         }
     }
-}
\ No newline at end of file
+}
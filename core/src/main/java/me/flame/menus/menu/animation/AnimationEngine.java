@@ -0,0 +1,155 @@
+package me.flame.menus.menu.animation;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Drives every running {@link Animation} from a single tick task.
+ * <p>
+ * Running animations are kept in an array with a count of active animations,
+ * every animation remembers its own index so it's added and removed in O(1),
+ * and each tick only counts down the animations' delays, stepping those that are due.
+ * The task only runs while at least one animation is running, so 500 animated menus cost one task.
+ * <p>
+ * When the server's milliseconds per tick cross the skip threshold, every due animation skips a frame
+ * and plays the one after it, so animations keep their pace while rendering half as many frames.
+ * Paused animations (see {@link Animation#pause()}) aren't part of the engine at all.
+ * <p>
+ * This class is not thread-safe and must be used from the main thread.
+ * @since 3.0.0
+ */
+@SuppressWarnings("unused")
+public final class AnimationEngine {
+    private static final AnimationEngine ENGINE = new AnimationEngine();
+
+    private static final Method AVERAGE_TICK_TIME = findAverageTickTime();
+    private static final double MIN_MEASURED_THRESHOLD = 55.0;
+
+    private Animation[] active = new Animation[16];
+    private int activeCount = 0;
+    private BukkitTask task;
+
+    private double skipThreshold = 45.0, measuredMspt = 50.0;
+    private long lastTick = 0, renderedFrames = 0, skippedFrames = 0;
+
+    private AnimationEngine() {}
+
+    /**
+     * Get the engine shared by every animation.
+     * @return the engine
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static AnimationEngine get() {
+        return ENGINE;
+    }
+
+    /**
+     * Get how many animations are running.
+     * @return the number of running animations
+     */
+    public int activeCount() { return activeCount; }
+
+    /**
+     * Set the milliseconds per tick above which animations skip frames.
+     * @param mspt the threshold, 0 or less to never skip frames
+     */
+    public void setSkipThreshold(double mspt) { this.skipThreshold = mspt; }
+
+    public double getSkipThreshold() { return skipThreshold; }
+
+    /**
+     * Get how many frames were played by all animations.
+     * @return the number of played frames
+     */
+    public long getRenderedFrames() { return renderedFrames; }
+
+    /**
+     * Get how many frames were skipped by all animations because the server was lagging.
+     * @return the number of skipped frames
+     */
+    public long getSkippedFrames() { return skippedFrames; }
+
+    /**
+     * Get the milliseconds per tick the engine bases frame skipping on;
+     * the server's average tick time where the server exposes it, otherwise the measured time between ticks.
+     * @return the milliseconds per tick
+     */
+    public double mspt() {
+        if (AVERAGE_TICK_TIME != null) {
+            try {
+                return ((Number) AVERAGE_TICK_TIME.invoke(Bukkit.getServer())).doubleValue();
+            } catch (ReflectiveOperationException ignored) {}
+        }
+        return measuredMspt;
+    }
+
+    void add(@NotNull Animation animation) {
+        if (animation.engineIndex != -1) return;
+        if (activeCount == active.length) active = Arrays.copyOf(active, activeCount << 1);
+        animation.engineIndex = activeCount;
+        animation.countdown = animation.delay;
+        active[activeCount++] = animation;
+        if (task == null) task = Bukkit.getScheduler().runTaskTimer(JavaPlugin.getProvidingPlugin(AnimationEngine.class), this::tick, 1L, 1L);
+    }
+
+    void remove(@NotNull Animation animation) {
+        int index = animation.engineIndex;
+        if (index == -1) return;
+        Animation last = active[--activeCount];
+        active[index] = last;
+        last.engineIndex = index;
+        active[activeCount] = null;
+        animation.engineIndex = -1;
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        if (lastTick != 0) measuredMspt = measuredMspt * 0.9 + (now - lastTick) / 1_000_000.0 * 0.1;
+        lastTick = now;
+        // the measured time between ticks never goes below 50 milliseconds, so without the server's
+        // average tick time only a tick rate clearly below 20 per second counts as lagging
+        double threshold = AVERAGE_TICK_TIME == null ? Math.max(skipThreshold, MIN_MEASURED_THRESHOLD) : skipThreshold;
+        boolean lagging = skipThreshold > 0 && mspt() > threshold;
+
+        // backwards, so an animation removed while stepping only swaps in one that already ran this tick
+        for (int index = activeCount - 1; index >= 0; index--) {
+            if (index >= activeCount) continue;
+            Animation animation = active[index];
+            if (--animation.countdown > 0) continue;
+            animation.countdown = animation.delay;
+            if (lagging) {
+                animation.skip();
+                animation.skippedFrames++;
+                skippedFrames++;
+            }
+            Frame frame = animation.next();
+            animation.renderedFrames++;
+            renderedFrames++;
+            if (frame == null) remove(animation);
+        }
+
+        if (activeCount == 0 && task != null) {
+            task.cancel();
+            task = null;
+            lastTick = 0;
+        }
+    }
+
+    private static @Nullable Method findAverageTickTime() {
+        try {
+            return Server.class.getMethod("getAverageTickTime");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
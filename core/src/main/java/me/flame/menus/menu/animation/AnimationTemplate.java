@@ -0,0 +1,201 @@
+package me.flame.menus.menu.animation;
+
+import me.flame.menus.menu.Menu;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Frames defined once and played on many menus by one shared clock.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ *     AnimationTemplate spinner = AnimationTemplate.of(2, true, frames);
+ *
+ *     Menu menu = ...; // a new instance for every player
+ *     menu.addAnimation(spinner.attach(menu));
+ * }</pre>
+ * Every attached menu is in the same phase, so all of them show the same frame items (and item stacks),
+ * and the template advances once per frame no matter how many menus play it; only the slot writes are per menu.
+ * A menu that starts playing later first catches up to the current frame.
+ * The clock only runs while at least one attached menu is playing.
+ * @since 3.0.0
+ */
+@SuppressWarnings("unused")
+public final class AnimationTemplate {
+    private final Frame[] deltas;
+    private final boolean repeat;
+    private final Clock clock;
+    private final List<Shared> members = new ArrayList<>();
+
+    private AnimationTemplate(int delay, @NotNull Frame[] frames, boolean repeat) {
+        this.deltas = Frame.toDeltas(frames);
+        this.repeat = repeat;
+        this.clock = new Clock(delay);
+    }
+
+    /**
+     * Create a template of the frames.
+     * @param delay the ticks between two frames
+     * @param repeat whether to start over after the last frame
+     * @param frames the frames, built with any menu of the same size
+     * @return the template
+     */
+    @NotNull
+    @Contract("_, _, _ -> new")
+    public static AnimationTemplate of(int delay, boolean repeat, @NotNull Frame... frames) {
+        return new AnimationTemplate(delay, frames, repeat);
+    }
+
+    /**
+     * Create an animation that plays this template on the menu, add it with {@link Menu#addAnimation(Animation)}.
+     * @param menu the menu
+     * @return the animation of the menu
+     */
+    @NotNull
+    @Contract("_ -> new")
+    public Animation attach(@NotNull Menu menu) {
+        return new Shared(menu);
+    }
+
+    /**
+     * Get how many menus are playing this template.
+     * @return the number of playing menus
+     */
+    public int playing() { return members.size(); }
+
+    /**
+     * Get the clock of the template, which counts the rendered and skipped frames of all menus at once.
+     * @return the clock
+     */
+    public @NotNull Animation clock() { return clock; }
+
+    private void join(@NotNull Shared member) {
+        members.add(member);
+        for (int index = 0; index < clock.position(); index++) {
+            Frame frame = deltas[index];
+            if (frame != null) frame.apply(member.menu());
+        }
+        member.menu().commitStaged();
+        AnimationEngine.get().add(clock);
+    }
+
+    private void leave(@NotNull Shared member) {
+        members.remove(member);
+        if (members.isEmpty()) AnimationEngine.get().remove(clock);
+    }
+
+    private void play(@NotNull Frame frame, boolean commit) {
+        for (int index = 0, size = members.size(); index < size; index++) {
+            Menu menu = members.get(index).menu();
+            if (commit) frame.commit(menu);
+            else frame.apply(menu);
+        }
+    }
+
+    /**
+     * The one animation of the template that's driven by the engine.
+     */
+    private final class Clock extends Animation {
+        Clock(int delay) {
+            super(delay, new Frame[0], null);
+        }
+
+        int position() { return frameIndex; }
+
+        @Override
+        public @Nullable Frame next() {
+            if (frameIndex == deltas.length) return onFinish();
+            Frame frame = deltas[frameIndex++];
+            if (frame != null) play(frame, true);
+            return frame;
+        }
+
+        @Override
+        protected void skip() {
+            if (frameIndex >= deltas.length) return;
+            Frame frame = deltas[frameIndex++];
+            if (frame != null) play(frame, false);
+        }
+
+        @Override
+        public Frame onFinish() {
+            frameIndex = 0;
+            if (repeat) return deltas.length == 0 ? null : next();
+            for (Shared member : members) member.joined = false;
+            members.clear();
+            return null;
+        }
+    }
+
+    /**
+     * The animation of one menu, which only joins and leaves the template's clock.
+     */
+    private final class Shared extends Animation {
+        private boolean joined = false, paused = false;
+
+        Shared(@NotNull Menu menu) {
+            super(clock.delay, new Frame[0], menu);
+        }
+
+        @NotNull Menu menu() { return menu; }
+
+        @Override
+        public Frame start() {
+            paused = false;
+            if (!joined) {
+                joined = true;
+                join(this);
+            }
+            return null;
+        }
+
+        @Override
+        public void stop() {
+            paused = false;
+            if (joined) {
+                joined = false;
+                leave(this);
+            }
+            if (deltas.length != 0 && deltas[0] != null) deltas[0].commit(menu);
+        }
+
+        @Override
+        public void pause() {
+            if (!joined) return;
+            joined = false;
+            paused = true;
+            leave(this);
+        }
+
+        @Override
+        public void resume() {
+            if (!paused) return;
+            paused = false;
+            joined = true;
+            join(this);
+        }
+
+        @Override
+        public boolean isRunning() { return joined; }
+
+        @Override
+        public boolean isPaused() { return paused; }
+
+        @Override
+        public @Nullable Frame next() { return null; }
+
+        @Override
+        public Frame onFinish() { return null; }
+
+        @Override
+        public long getRenderedFrames() { return clock.getRenderedFrames(); }
+
+        @Override
+        public long getSkippedFrames() { return clock.getSkippedFrames(); }
+    }
+}
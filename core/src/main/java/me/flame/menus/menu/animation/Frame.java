@@ -9,45 +9,131 @@ import me.flame.menus.menu.Menu;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
+
 /**
  * To be used in building Frames.
+ * <p>
+ * A frame only stores the slots it sets, as (slot, item) pairs,
+ * so a frame that changes 4 slots of a 54 slot menu stores and touches 4 slots,
+ * and playing it writes those slots straight into the open inventories instead of updating the whole menu.
  * @since 2.0.0
  */
 @SuppressWarnings("unused")
 public class Frame {
+    private final int[] slots;
     private final MenuItem[] items;
-    private MenuItem[] defaultItems;
     private final Menu menu;
 
     private boolean started = false;
 
     @Contract(pure = true)
-    private Frame(MenuItem @NotNull [] items, Menu menu) {
+    private Frame(int @NotNull [] slots, MenuItem @NotNull [] items, Menu menu) {
         this.menu = menu;
+        this.slots = slots;
         this.items = items;
-        this.defaultItems = new MenuItem[items.length];
     }
 
     @NotNull
     @CanIgnoreReturnValue
     public Frame start() {
-        if (!started) {
-            this.defaultItems = items;
-            started = true;
-        }
-        processItems(menu, items);
+        started = true;
+        commit(menu);
         return this;
     }
 
     public void reset() {
-        processItems(menu, defaultItems);
+        if (started) commit(menu);
+    }
+
+    /**
+     * Stage the slots of this frame in the menu, without sending them to the viewers yet.
+     * @param menu the menu
+     * @see Menu#stageItem(int, MenuItem)
+     */
+    public void apply(@NotNull Menu menu) {
+        for (int index = 0; index < slots.length; index++) menu.stageItem(slots[index], items[index]);
     }
 
-    private static void processItems(Menu menu, MenuItem[] items) {
-        for (int itemIndex = 0; itemIndex < menu.size(); itemIndex++) {
-            MenuItem item = items[itemIndex];
-            if (item != null) menu.setItem(itemIndex, item);
+    /**
+     * Set the slots of this frame in the menu and write them straight into its open inventories,
+     * together with the slots of skipped frames that were staged before.
+     * @param menu the menu
+     */
+    public void commit(@NotNull Menu menu) {
+        apply(menu);
+        menu.commitStaged();
+    }
+
+    /**
+     * Get how many slots this frame sets.
+     * @return the number of (slot, item) pairs
+     */
+    public int size() { return slots.length; }
+
+    public int slotAt(int index) { return slots[index]; }
+
+    public @NotNull MenuItem itemAt(int index) { return items[index]; }
+
+    /**
+     * Turn every frame after the first into the slots that differ from the frame before it,
+     * the first frame stays whole since it's played over whatever the menu showed before.
+     * @param frames the whole frames
+     * @return the first frame followed by the deltas
+     */
+    static Frame @NotNull [] toDeltas(Frame @NotNull [] frames) {
+        int size = 0;
+        for (Frame frame : frames) {
+            if (frame == null) continue;
+            for (int slot : frame.slots) size = Math.max(size, slot + 1);
+        }
+
+        Frame[] deltas = frames.clone();
+        MenuItem[] state = new MenuItem[size];
+        for (int index = 0; index < deltas.length; index++) {
+            Frame frame = deltas[index];
+            if (frame == null) continue;
+            Frame delta = frame.deltaFrom(state);
+            if (index != 0) deltas[index] = delta;
         }
+        return deltas;
+    }
+
+    /**
+     * Get the part of this frame that differs from the items already in place, and move those items into place.
+     * @param state the items in place after the previous frame, updated to the items in place after this frame
+     * @return a frame with only the slots that change
+     */
+    @NotNull
+    Frame deltaFrom(MenuItem @NotNull [] state) {
+        int[] deltaSlots = new int[slots.length];
+        MenuItem[] deltaItems = new MenuItem[slots.length];
+        int count = 0;
+        for (int index = 0; index < slots.length; index++) {
+            int slot = slots[index];
+            MenuItem item = items[index];
+            if (state[slot] == item) continue;
+            state[slot] = item;
+            deltaSlots[count] = slot;
+            deltaItems[count++] = item;
+        }
+        if (count == slots.length) return this;
+        return new Frame(Arrays.copyOf(deltaSlots, count), Arrays.copyOf(deltaItems, count), menu);
+    }
+
+    /**
+     * Create a frame from (slot, item) pairs directly, for example a delta built by a procedural animation.
+     * @param menu the menu of the frame
+     * @param slots the slots
+     * @param items the item of every slot
+     * @return the frame
+     */
+    @NotNull
+    @Contract(value = "_, _, _ -> new", pure = true)
+    public static Frame of(@NotNull Menu menu, int @NotNull [] slots, MenuItem @NotNull [] items) {
+        if (slots.length != items.length)
+            throw new IllegalArgumentException("Every slot needs exactly one item" + "\nSlots: " + slots.length + "\nItems: " + items.length + "\nFix: Pass as many items as slots");
+        return new Frame(slots.clone(), items.clone(), menu);
     }
 
     @NotNull
@@ -81,7 +167,18 @@ public class Frame {
 
         @NotNull
         public Frame build() {
-            return new Frame(this.data.getItems(), this.menu);
+            MenuItem[] all = this.data.getItems();
+            int count = 0;
+            for (MenuItem item : all) if (item != null) count++;
+
+            int[] slots = new int[count];
+            MenuItem[] items = new MenuItem[count];
+            for (int slot = 0, index = 0; slot < all.length; slot++) {
+                if (all[slot] == null) continue;
+                slots[index] = slot;
+                items[index++] = all[slot];
+            }
+            return new Frame(slots, items, this.menu);
         }
     }
 }
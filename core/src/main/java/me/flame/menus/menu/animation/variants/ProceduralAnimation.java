@@ -0,0 +1,161 @@
+package me.flame.menus.menu.animation.variants;
+
+import me.flame.menus.items.MenuItem;
+import me.flame.menus.menu.Menu;
+import me.flame.menus.menu.animation.Animation;
+import me.flame.menus.menu.animation.Frame;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * An animation whose frames are generated when they're played instead of being built up front.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ *     Menu menu = ...;
+ *     MenuItem[] rainbow = ...;
+ *     menu.addAnimation(Animation.builder(menu)
+ *                                .procedural((tick, slot) -> rainbow[(tick + slot) % rainbow.length], border)
+ *                                .type(Type.REPEATED)
+ *                                .build());
+ * }</pre>
+ * Only the items of the last frame are remembered, to play just the slots that changed,
+ * so memory stays the same no matter how long the animation is.
+ * @since 3.0.0
+ */
+public class ProceduralAnimation extends Animation {
+    private final int[] slots;
+    private final @Nullable SlotGenerator slotGenerator;
+    private final @Nullable FrameGenerator frameGenerator;
+    private final int length;
+    private final boolean repeat;
+
+    private final MenuItem[] last;
+    private final int[] changedSlots;
+    private final MenuItem[] changedItems;
+    private final Frame unchanged;
+    private int tick;
+
+    /**
+     * Generates the item of a slot for a frame.
+     */
+    @FunctionalInterface
+    public interface SlotGenerator {
+        /**
+         * Generate the item of the slot.
+         * @param tick the index of the frame
+         * @param slot the slot
+         * @return the item, or null to leave the slot as it is
+         */
+        @Nullable MenuItem itemAt(int tick, int slot);
+    }
+
+    /**
+     * Generates the slots that change in a frame.
+     */
+    @FunctionalInterface
+    public interface FrameGenerator {
+        /**
+         * Generate the changes of the frame.
+         * @param tick the index of the frame
+         * @return the changed slots, or null if nothing changes
+         */
+        @Nullable Frame frameAt(int tick);
+    }
+
+    /**
+     * @param delay the ticks between two frames
+     * @param menu the menu
+     * @param generator generates the item of every animated slot
+     * @param slots the animated slots
+     * @param length the amount of frames, 0 or less to generate frames until the animation is stopped
+     * @param repeat whether to start over after the last frame
+     */
+    public ProceduralAnimation(int delay, @NotNull Menu menu, @NotNull SlotGenerator generator, int @NotNull [] slots, int length, boolean repeat) {
+        this(delay, menu, generator, null, slots.clone(), length, repeat);
+    }
+
+    /**
+     * @param delay the ticks between two frames
+     * @param menu the menu
+     * @param generator generates the changed slots of every frame
+     * @param length the amount of frames, 0 or less to generate frames until the animation is stopped
+     * @param repeat whether to start over after the last frame
+     */
+    public ProceduralAnimation(int delay, @NotNull Menu menu, @NotNull FrameGenerator generator, int length, boolean repeat) {
+        this(delay, menu, null, generator, new int[0], length, repeat);
+    }
+
+    private ProceduralAnimation(int delay, Menu menu, SlotGenerator slotGenerator, FrameGenerator frameGenerator, int[] slots, int length, boolean repeat) {
+        super(delay, new Frame[0], menu);
+        this.slotGenerator = slotGenerator;
+        this.frameGenerator = frameGenerator;
+        this.slots = slots;
+        this.length = length;
+        this.repeat = repeat;
+        this.last = new MenuItem[slots.length];
+        this.changedSlots = new int[slots.length];
+        this.changedItems = new MenuItem[slots.length];
+        this.unchanged = Frame.of(menu, new int[0], new MenuItem[0]);
+    }
+
+    @Override
+    public void reset() {
+        tick = 0;
+        Arrays.fill(last, null);
+    }
+
+    @Override
+    public Frame start() {
+        reset();
+        super.start();
+        return unchanged;
+    }
+
+    @Override
+    public @Nullable Frame next() {
+        if (length > 0 && tick >= length) return onFinish();
+        Frame frame = slotGenerator != null ? generate(slotGenerator, tick) : frameGenerator.frameAt(tick);
+        tick++;
+        if (frame == null) return unchanged;
+        frame.start();
+        return frame;
+    }
+
+    @Override
+    protected void skip() {
+        if (length > 0 && tick >= length) return;
+        // generated slots are compared with the last played items, so a skipped frame needn't be generated,
+        // but a generated delta still has to be put in the menu for the frames after it to stay correct
+        if (frameGenerator != null) {
+            Frame frame = frameGenerator.frameAt(tick);
+            if (frame != null) frame.apply(menu);
+        }
+        tick++;
+    }
+
+    @Override
+    public Frame onFinish() {
+        if (!repeat) {
+            stop();
+            return null;
+        }
+        tick = 0;
+        return next();
+    }
+
+    private @Nullable Frame generate(@NotNull SlotGenerator generator, int tick) {
+        int count = 0;
+        for (int index = 0; index < slots.length; index++) {
+            MenuItem item = generator.itemAt(tick, slots[index]);
+            if (item == null || item == last[index]) continue;
+            last[index] = item;
+            changedSlots[count] = slots[index];
+            changedItems[count++] = item;
+        }
+        return count == 0 ? null : Frame.of(menu, Arrays.copyOf(changedSlots, count), Arrays.copyOf(changedItems, count));
+    }
+}
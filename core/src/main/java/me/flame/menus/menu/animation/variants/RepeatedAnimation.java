@@ -15,6 +15,8 @@ public class RepeatedAnimation extends Animation {
 
     @Override
     public Frame onFinish() {
-        return this.start();
+        // keep running in the engine and loop back to the first frame
+        reset();
+        return frames.length == 0 ? null : next();
     }
 }
@@ -3,6 +3,7 @@ package me.flame.menus.menu.fillers;
 import me.flame.menus.items.MenuItem;
 
 import me.flame.menus.menu.Menu;
+import me.flame.menus.menu.SlotMask;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
@@ -25,132 +26,68 @@ public final class Filler implements MenuFiller {
     }
 
     public void fill(Material borderMaterial) {
-        final int size = menu.size();
-
-        MenuItem menuItem = MenuItem.of(new ItemStack(borderMaterial));
-        fillMenu(size, menuItem, menu);
-    }
-
-    static void fillMenu(int size, MenuItem menuItem, Menu menu) {
-        for (int i = 0; i < size; i++) if (!menu.hasItem(i)) menu.setItem(i, menuItem);
+        fill(MenuItem.of(new ItemStack(borderMaterial)));
     }
 
     public void fill(@NotNull MenuItem menuItem) {
-        fillMenu(menu.size(), menuItem, menu);
+        menu.fillEmpty(SlotMask.all(menu.getType(), menu.rows()), menuItem);
     }
 
     public void fill(ItemStack itemS) {
-        fillMenu(menu.size(), MenuItem.of(itemS), menu);
+        fill(MenuItem.of(itemS));
     }
 
     public void fillBorders(Material borderMaterial) {
-        addBorderItem(menu.size(), MenuItem.of(new ItemStack(borderMaterial)), menu);
+        fillBorders(MenuItem.of(new ItemStack(borderMaterial)));
     }
 
     public void fillBorders(@NotNull MenuItem borderMaterial) {
-        addBorderItem(menu.size(), borderMaterial, menu);
+        menu.setItems(SlotMask.border(menu.getType(), menu.rows()), borderMaterial);
     }
 
     public void fillBorders(ItemStack itemStack) {
-        addBorderItem(menu.size(), MenuItem.of(itemStack), menu);
+        fillBorders(MenuItem.of(itemStack));
     }
 
-    static void addBorderItem(int size, MenuItem menuItem, Menu menu) {
-        for (int i = 0; i < size; i++) if (MenuFiller.isBorderSlot(i, size)) menu.setItem(i, menuItem);
-    }
-
-
     public void fillRow(int row, Material borderMaterial) {
-        if (row < 1 || row > 6) return;
-        final int sizedRow = (row - 1) * 9;
-        addRowItems(sizedRow, sizedRow + 9, MenuItem.of(new ItemStack(borderMaterial)), menu);
-    }
-
-    static void addRowItems(int sizedRow, int size, MenuItem menuItem, Menu menu) {
-        for (int i = sizedRow; i < size; i++) menu.setItem(i, menuItem);
+        fillRow(row, MenuItem.of(new ItemStack(borderMaterial)));
     }
 
     public void fillRow(int row, ItemStack borderMaterial) {
-        if (row < 1 || row > 6) return;
-        row--;
-        final int sizedRow = row ^ 3;
-        addRowItems(sizedRow, sizedRow + 9, MenuItem.of(borderMaterial), menu);
+        fillRow(row, MenuItem.of(borderMaterial));
     }
 
     public void fillRow(int row, MenuItem menuItem) {
-        if (row < 1 || row > 6) return;
-        row--;
-        final int sizedRow = row * 9, size = sizedRow + 9;
-        addRowItems(sizedRow, size, menuItem, menu);
+        menu.setItems(SlotMask.row(menu.getType(), menu.rows(), row), menuItem);
     }
 
     public void fillArea(int length, int width, Material borderMaterial) {
-        addAreaItems(length, width, MenuItem.of(new ItemStack(borderMaterial)), menu.size(), menu);
+        fillArea(length, width, MenuItem.of(new ItemStack(borderMaterial)));
     }
 
     public void fillArea(int length, int width, ItemStack borderMaterial) {
-        final int size = menu.size();
-        addAreaItems(length, width, MenuItem.of(borderMaterial), size, menu);
+        fillArea(length, width, MenuItem.of(borderMaterial));
     }
 
     public void fillArea(int length, int width, MenuItem itemStack) {
-        final int size = menu.size();
-        addAreaItems(length, width, itemStack, size, menu);
+        menu.setItems(SlotMask.area(menu.getType(), menu.rows(), length, width), itemStack);
     }
 
     @Override
     public void fillSide(Side side, Material borderMaterial) {
-        MenuItem item = MenuItem.of(new ItemStack(borderMaterial));
-        fillAskedSide(side, item, menu);
-    }
-
-    static void fillAskedSide(Side side, MenuItem item, Menu menu) {
-        final int rows = menu.rows();
-        switch (side) {
-            case TOP:
-                addRowItems(0, 8, item, menu);
-                break;
-            case BOTTOM:
-                addRowItems(rows * 9, (rows * 9) + 9, item, menu);
-                break;
-            // implement LEFT and RIGHT from scratch; like filling vertical rows
-            case LEFT:
-                for (int i = 0; i < rows; i++) menu.setItem(i, item);
-                break;
-            case RIGHT:
-                int size = menu.size();
-                for (int i = 8; i < size; i += 9) menu.setItem(i, item);
-                break;
-            case LEFT_RIGHT:
-                for (int i = 0; i < rows; i++) {
-                    menu.setItem(i, item);
-                    menu.setItem(i + 8, item);
-                }
-                break;
-        }
+        fillSide(side, MenuItem.of(new ItemStack(borderMaterial)));
     }
 
     @Override
     public void fillSide(Side side, ItemStack borderMaterial) {
-        MenuItem item = MenuItem.of(borderMaterial);
-        fillAskedSide(side, item, menu);
+        fillSide(side, MenuItem.of(borderMaterial));
     }
 
     @Override
     public void fillSide(Side side, MenuItem borderMaterial) {
-        fillAskedSide(side, borderMaterial, menu);
+        menu.setItems(SlotMask.side(menu.getType(), menu.rows(), side), borderMaterial);
     }
 
-    static void addAreaItems(int length, int width, MenuItem itemStack, int size, @NotNull Menu menu) {
-        int slot = MenuFiller.findFirstAreaSlot(width, length);
-        while (slot < size) {
-            if (MenuFiller.isInArea(slot, length, width)) menu.setItem(slot, itemStack);
-            slot++;
-        }
-    }
-
-    // isInArea = simple geometry to check if a slot is in an area of L*W
-
     public enum Side {
         TOP,
         BOTTOM,
@@ -5,12 +5,19 @@ import me.flame.menus.items.MenuItem;
 import me.flame.menus.menu.ItemData;
 
 import me.flame.menus.menu.Pagination;
+import me.flame.menus.menu.SlotMask;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+/**
+ * Decorates every page of a paginated menu.
+ * <p>
+ * The slots are worked out once as a {@link SlotMask} and then set on every page in one pass over the mask,
+ * so decorating many pages costs no slot arithmetic per page.
+ */
 @SuppressWarnings({ "unused", "DataFlowIssue" })
 public final class PageDecoration implements MenuFiller {
     @NotNull
@@ -35,14 +42,7 @@ public final class PageDecoration implements MenuFiller {
     }
 
     public void fillBorders(MenuItem item) {
-        final int size = menu.size();
-        final int pages = menu.pages().size();
-        for (int pageIndex = 0; pageIndex < pages; pageIndex++) {
-            final var page = menu.getPage(pageIndex);
-            for (int i = 0; i < size; i++) {
-                if (MenuFiller.isBorderSlot(i, size)) page.setItem(i, item);
-            }
-        }
+        setItems(SlotMask.border(menu.getType(), menu.rows()), item);
     }
 
     public void fill(Material borderMaterial) {
@@ -50,14 +50,8 @@ public final class PageDecoration implements MenuFiller {
     }
 
     public void fill(@NotNull MenuItem menuItem) {
-        final int size = menu.size();
-        final int pages = menu.pages().size();
-        for (int pageIndex = 0; pageIndex < pages; pageIndex++) {
-            final var page = menu.getPage(pageIndex);
-            for (int i = 0; i < size; i++) {
-                if (!page.hasItem(i)) page.setItem(i, menuItem);
-            }
-        }
+        SlotMask all = SlotMask.all(menu.getType(), menu.rows());
+        for (ItemData page : menu.pages()) page.fillEmpty(all, menuItem);
     }
 
     public void fill(ItemStack itemStack) {
@@ -73,13 +67,7 @@ public final class PageDecoration implements MenuFiller {
     }
 
     public void fillRow(final int row, MenuItem itemStack) {
-        if (row < 1 || row > 6) return;
-        final int sizedRow = row * 9, rowSize = sizedRow + 9;
-        final int size = menu.size(), pages = menu.pages().size();
-        for (int pageIndex = 0; pageIndex < pages; pageIndex++) {
-            final var page = menu.getPage(pageIndex);
-            for (int i = sizedRow; i < rowSize; i++) page.setItem(i, itemStack);
-        }
+        setItems(SlotMask.row(menu.getType(), menu.rows(), row), itemStack);
     }
 
     public void fillArea(final int length, final int width, Material borderMaterial) {
@@ -91,75 +79,26 @@ public final class PageDecoration implements MenuFiller {
     }
 
     public void fillArea(final int length, final int width, MenuItem itemStack) {
-        final int size = menu.size();
-        final int pages = menu.pages().size();
-        for (int pageIndex = 0; pageIndex < pages; pageIndex++) {
-            final var page = menu.getPage(pageIndex);
-            for (int i = 0; i < size; i++) if (MenuFiller.isInArea(i, length, width)) page.setItem(i, itemStack);
-        }
+        setItems(SlotMask.area(menu.getType(), menu.rows(), length, width), itemStack);
     }
 
     @Override
     public void fillSide(Filler.Side side, Material borderMaterial) {
-        MenuItem item = MenuItem.of(new ItemStack(borderMaterial));
-        final int size = menu.size(), pages = menu.pages().size();
-        for (int pageIndex = 0; pageIndex < pages; pageIndex++) {
-            final var page = menu.getPage(pageIndex);
-            fillAskedSide(side, item, page);
-        }
-    }
-
-    void fillAskedSide(Filler.Side side, MenuItem item, ItemData menu) {
-        final int rows = menu.size() / 9;
-        switch (side) {
-            case TOP:
-                fillRow(1, item);
-                break;
-            case BOTTOM:
-                fillRow(rows, item);
-                break;
-            // implement LEFT and RIGHT from scratch; like filling vertical rows
-            case LEFT:
-                for (int i = 0; i < rows; i++) menu.setItem(i, item);
-                break;
-            case RIGHT:
-                int size = menu.size();
-                for (int i = 8; i < size; i += 9) menu.setItem(i, item);
-                break;
-            case LEFT_RIGHT:
-                for (int i = 0; i < rows; i++) {
-                    menu.setItem(i, item);
-                    menu.setItem(i + 8, item);
-                }
-                break;
-        }
+        fillSide(side, MenuItem.of(new ItemStack(borderMaterial)));
     }
 
     @Override
     public void fillSide(Filler.Side side, ItemStack borderMaterial) {
-        MenuItem item = MenuItem.of(borderMaterial);
-
-        final int size = menu.size(), pages = menu.pages().size();
-        for (int pageIndex = 0; pageIndex < pages; pageIndex++) {
-            final var page = menu.getPage(pageIndex);
-            fillAskedSide(side, item, page);
-        }
+        fillSide(side, MenuItem.of(borderMaterial));
     }
 
     @Override
     public void fillSide(Filler.Side side, MenuItem borderMaterial) {
-        final int size = menu.size(), pages = menu.pages().size();
-        for (int pageIndex = 0; pageIndex < pages; pageIndex++) {
-            final var page = menu.getPage(pageIndex);
-            fillAskedSide(side, borderMaterial, page);
-        }
+        setItems(SlotMask.side(menu.getType(), menu.rows(), side), borderMaterial);
     }
 
-    // simple geometry to check if a slot is in an area of L*W
-
-    private static boolean isInArea(final int slot, final int length, final int width) {
-        final int rows = length / 9;
-        final int startRow = slot / 9;
-        return startRow < rows && slot % 9 < width;
+    private void setItems(@NotNull SlotMask mask, MenuItem item) {
+        if (mask.isEmpty()) return;
+        for (ItemData page : menu.pages()) page.setItems(mask, item);
     }
 }
@@ -3,19 +3,41 @@ package me.flame.menus.menu.iterator;
 import me.flame.menus.items.MenuItem;
 import me.flame.menus.menu.IMenu;
 import me.flame.menus.menu.IterationDirection;
+import me.flame.menus.menu.MenuType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates the items of a menu in an {@link IterationDirection}.
+ * <p>
+ * The iterator moves over the grid of the menu's {@link MenuType}, so a hopper is iterated as one row of 5 slots
+ * and special slots (like a furnace's fuel and result slots) aren't iterated.
+ * <p>
+ * The slots a (type, direction, starting slot, size) visits are worked out once into an {@code int[]} and cached,
+ * so the iterator itself is only a cursor over that array.
+ * Use {@link #nextSlot()}, {@link #forEachRemainingSlot(IntConsumer)} or {@link #forEachRemainingItem(ObjIntConsumer)}
+ * to iterate without allocating, and {@link #slots()} for a stream of the remaining slots that can run in parallel.
+ */
 @SuppressWarnings("unused")
 public final class MenuIterator implements Iterator<Optional<MenuItem>> {
-    private int position, next;
-    private final int size;
+    // at most 12 directions * 7 types * 54 starting cells * 54 sizes, in practice a handful per plugin
+    private static final Map<Integer, int[]> ORDERS = new ConcurrentHashMap<>();
 
-    @NotNull
-    private final IterationDirection direction;
+    private final int @NotNull [] order;
+    private int cursor = 0;
 
     @NotNull
     private final IMenu menu;
@@ -38,41 +60,67 @@ public final class MenuIterator implements Iterator<Optional<MenuItem>> {
     public MenuIterator(int startingRow, int startingCol,
                         @NotNull IterationDirection direction,
                         @NotNull IMenu menu) {
-        int prepos = getSlotFromRowCol(startingRow, startingCol);
-        
+        MenuType type = menu.getType();
+        int width = type.getWidth(), size = type.gridSize(menu.rows());
+        int prepos = getCellFromRowCol(startingRow, startingCol, width);
+        if (startingCol < 1 || startingCol > width || prepos < 0 || prepos >= size) throw new IllegalArgumentException(GREATER_THAN_ONE_ONLY);
         this.menu = menu;
-        this.size = menu.size();        
-        if (prepos < 0 || prepos >= size) throw new IllegalArgumentException(GREATER_THAN_ONE_ONLY);
-        this.next = prepos;
-        this.position = prepos;
-        this.direction = direction;
+        this.order = order(type, direction, prepos, size);
     }
 
     public MenuIterator(@NotNull IterationDirection direction, @NotNull IMenu menu) {
+        MenuType type = menu.getType();
+        int size = type.gridSize(menu.rows());
         this.menu = menu;
-        this.next = 0;
-        this.position = 0;
-        this.size = menu.size();
-        this.direction = direction;
+        this.order = size == 0 ? new int[0] : order(type, direction, 0, size);
+    }
+
+    private static int getCellFromRowCol(int row, int col, int width) {
+        return ((row - 1) * width) + col - 1;
+    }
+
+    private static int @NotNull [] order(@NotNull MenuType type, @NotNull IterationDirection direction, int start, int size) {
+        int key = ((direction.ordinal() * 8 + type.ordinal()) * 64 + start) * 64 + size;
+        return ORDERS.computeIfAbsent(key, ignored -> compile(type, direction, start, size));
     }
 
-    private static int getSlotFromRowCol(int row, int col) {
-        return ((row - 1) * 9) + col - 1;
+    private static int @NotNull [] compile(@NotNull MenuType type, @NotNull IterationDirection direction, int start, int size) {
+        int width = type.getWidth();
+        int[] slots = new int[size];
+        int count = 0;
+        // every cell is visited at most once, so a direction that would loop stops after the whole grid
+        for (int cell = start; cell != -1 && count < size; cell = direction.shift(cell, size, width)) {
+            slots[count++] = type.gridSlot(cell);
+        }
+        return count == size ? slots : Arrays.copyOf(slots, count);
     }
 
     @Override
     public boolean hasNext() {
-        if (next != -1) return true;
-        next = direction.shift(position, size);
-        return next != -1;
+        return cursor < order.length;
+    }
+
+    /**
+     * Get the next slot, without looking up its item.
+     * @return the next slot
+     */
+    public int nextSlot() {
+        if (cursor >= order.length) throw new NoSuchElementException(NOTHING_MORE_NEXT);
+        return order[cursor++];
     }
 
     @Override
     public Optional<MenuItem> next() {
-        if (next == -1) throw new NoSuchElementException(NOTHING_MORE_NEXT);
-        position = next;
-        next = -1;
-        return menu.get(position);
+        return menu.get(nextSlot());
+    }
+
+    /**
+     * Retrieves the next item in the menu without wrapping it in an Optional.
+     *
+     * @return the next item in the menu, or null if the slot is empty
+     */
+    public @Nullable MenuItem nextItem() {
+        return menu.itemAt(nextSlot());
     }
 
     /**
@@ -81,19 +129,61 @@ public final class MenuIterator implements Iterator<Optional<MenuItem>> {
      * @return the next non-null MenuItem in the menu
      */
     public Optional<MenuItem> nextNotNull() {
-        while (hasNext()) {
-            position = next;
-            next = direction.shift(position, menu.size());
-            if (position == -1)
-                throw new NoSuchElementException(NOTHING_MORE_NEXT_NOT_NULL +
-                        "\nFix: Everything after slot " + position + " is empty/null."
-                );
-            Optional<MenuItem> item = menu.get(position);
-            if (item.isPresent()) return item;
+        while (cursor < order.length) {
+            MenuItem item = menu.itemAt(order[cursor++]);
+            if (item != null) return Optional.of(item);
         }
 
         throw new NoSuchElementException(NOTHING_MORE_NEXT_NOT_NULL +
-                "\nFix: Everything after slot " + position + " is empty/null."
+                "\nFix: Everything after slot " + (order.length == 0 ? 0 : order[order.length - 1]) + " is empty/null."
         );
     }
-}
\ No newline at end of file
+
+    @Override
+    public void forEachRemaining(@NotNull Consumer<? super Optional<MenuItem>> action) {
+        while (cursor < order.length) action.accept(menu.get(order[cursor++]));
+    }
+
+    /**
+     * Perform the action for every remaining slot, without allocating.
+     * @param action the action
+     */
+    public void forEachRemainingSlot(@NotNull IntConsumer action) {
+        while (cursor < order.length) action.accept(order[cursor++]);
+    }
+
+    /**
+     * Perform the action for the item (null if the slot is empty) and slot of every remaining slot, without allocating.
+     * @param action the action
+     */
+    public void forEachRemainingItem(@NotNull ObjIntConsumer<MenuItem> action) {
+        while (cursor < order.length) {
+            int slot = order[cursor++];
+            action.accept(menu.itemAt(slot), slot);
+        }
+    }
+
+    /**
+     * Get a spliterator of the remaining slots, which splits in halves for parallel scans.
+     * It doesn't move this iterator.
+     * @return the spliterator
+     */
+    public Spliterator.@NotNull OfInt slotSpliterator() {
+        return Arrays.spliterator(order, cursor, order.length);
+    }
+
+    /**
+     * Get a stream of the remaining slots, use {@link IntStream#parallel()} to scan a menu in parallel.
+     * It doesn't move this iterator.
+     * @return the stream
+     */
+    public @NotNull IntStream slots() {
+        return StreamSupport.intStream(slotSpliterator(), false);
+    }
+
+    /**
+     * Get how many slots are left.
+     * @return the number of remaining slots
+     */
+    public int remaining() { return order.length - cursor; }
+}
@@ -0,0 +1,39 @@
+package me.flame.menus.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executor async click actions run on.
+ * <p>
+ * This is the Java 11 version, using a bounded pool of platform threads.
+ * On Java 21+ the multi-release JAR replaces this class with one that uses virtual threads.
+ * @since 3.0.0
+ */
+final class AsyncThreads {
+    private AsyncThreads() {
+        throw new UnsupportedOperationException();
+    }
+
+    // a method rather than a constant, so callers compiled against this class don't inline its value
+    static boolean virtual() {
+        return false;
+    }
+
+    static @NotNull ExecutorService create() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "woody-async-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
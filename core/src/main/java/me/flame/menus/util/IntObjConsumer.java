@@ -0,0 +1,12 @@
+package me.flame.menus.util;
+
+/**
+ * A primitive specialization of a {@link java.util.function.BiConsumer} that takes the slot first,
+ * so iterating over slots doesn't box the slot index.
+ * @param <T> the type of the object argument
+ * @since 3.0.0
+ */
+@FunctionalInterface
+public interface IntObjConsumer<T> {
+    void accept(int slot, T value);
+}
@@ -0,0 +1,98 @@
+package me.flame.menus.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Executors used by Woody for async work, and a way back to the main thread.
+ * <p>
+ * Async click actions ({@link me.flame.menus.items.MenuItem#setAsync(boolean)}) run on {@link #async()},
+ * which uses virtual threads on Java 21+ and a bounded pool of platform threads on Java 11,
+ * so blocking handlers never starve the common ForkJoinPool.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ *     item.setClickAction((player, event) -> {
+ *         int balance = database.balance(player); // blocking, runs off the main thread
+ *         menu.sync(player, () -> menu.setItem(13, balanceItem(balance))); // back on the main thread, if the player still has the menu open
+ *     });
+ *     item.setAsync(true);
+ * }</pre>
+ * @since 3.0.0
+ */
+@SuppressWarnings("unused")
+public final class MenuExecutors {
+    private MenuExecutors() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final ExecutorService ASYNC = AsyncThreads.create();
+
+    private static final Plugin plugin = JavaPlugin.getProvidingPlugin(MenuExecutors.class);
+
+    private static final Executor MAIN_THREAD = runnable -> {
+        if (Bukkit.isPrimaryThread()) runnable.run();
+        else Bukkit.getScheduler().runTask(plugin, runnable);
+    };
+
+    /**
+     * Get the executor async click actions run on.
+     * @return the async executor
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static Executor async() {
+        return ASYNC;
+    }
+
+    /**
+     * Get an executor that runs tasks on the server's main thread;
+     * tasks submitted from the main thread run immediately.
+     * @return the main thread executor
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static Executor mainThread() {
+        return MAIN_THREAD;
+    }
+
+    /**
+     * Checks if async click actions run on virtual threads.
+     * @return true on Java 21+
+     */
+    public static boolean isVirtual() {
+        return AsyncThreads.virtual();
+    }
+
+    /**
+     * Run the task on the main thread, for example to apply inventory changes after async work.
+     * <p>
+     * The task runs even if the player closed the menu meanwhile,
+     * use {@link me.flame.menus.menu.Menu#sync(org.bukkit.entity.HumanEntity, Runnable)} to write to a menu.
+     * @param task the task
+     * @return a future completed once the task has run
+     */
+    @NotNull
+    public static CompletableFuture<Void> sync(@NotNull Runnable task) {
+        return CompletableFuture.runAsync(task, MAIN_THREAD);
+    }
+
+    /**
+     * Compute the value on the main thread, for example to read inventory state during async work.
+     * @param task the task
+     * @return a future completed with the value once the task has run
+     */
+    @NotNull
+    public static <T> CompletableFuture<T> supply(@NotNull Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, MAIN_THREAD);
+    }
+}
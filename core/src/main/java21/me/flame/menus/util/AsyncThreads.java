@@ -0,0 +1,28 @@
+package me.flame.menus.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executor async click actions run on.
+ * <p>
+ * This is the Java 21+ version, running every async click action on its own virtual thread,
+ * so blocking calls in handlers don't tie up a platform thread.
+ * @since 3.0.0
+ */
+final class AsyncThreads {
+    private AsyncThreads() {
+        throw new UnsupportedOperationException();
+    }
+
+    // a method rather than a constant, so callers compiled against this class don't inline its value
+    static boolean virtual() {
+        return true;
+    }
+
+    static @NotNull ExecutorService create() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("woody-async-", 0).factory());
+    }
+}